@@ -0,0 +1,83 @@
+/**
+ *   DecodeBenchmark
+ *   Copyright(c) 2011 Sergio Gabriel Teves
+ * 
+ *   This file is part of UrlResolver.
+ *
+ *   UrlResolver is free software: you can redistribute it and/or modify
+ *   it under the terms of the GNU General Public License as published by
+ *   the Free Software Foundation, either version 3 of the License, or
+ *   (at your option) any later version.
+ *
+ *   UrlResolver is distributed in the hope that it will be useful,
+ *   but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *   MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *   GNU General Public License for more details.
+ *
+ *   You should have received a copy of the GNU General Public License
+ *   along with UrlResolver. If not, see <http://www.gnu.org/licenses/>.
+ */
+package ar.sgt.resolver.benchmark;
+
+import java.io.UnsupportedEncodingException;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import ar.sgt.resolver.utils.ResolverUtils;
+
+/**
+ * ResolverUtils.decodeUrl against the decoder it replaced, for the kind of
+ * values captured from paths.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class DecodeBenchmark {
+
+	@Param({"plain", "ascii", "utf8", "long"})
+	public String input;
+
+	private String value;
+
+	@Setup
+	public void setup() {
+		if ("plain".equals(input)) {
+			value = "some-product-slug-2011";
+		} else if ("ascii".equals(input)) {
+			value = "some%20product%2Fslug%2B2011";
+		} else if ("utf8".equals(input)) {
+			value = "espa%C3%B1a-%E6%97%A5%E6%9C%AC-caf%C3%A9";
+		} else {
+			StringBuilder builder = new StringBuilder();
+			for (int i = 0; i < 20; i++) {
+				builder.append("segment-").append(i).append("%20%C3%B1");
+			}
+			value = builder.toString();
+		}
+	}
+
+	@Benchmark
+	public String legacy() throws UnsupportedEncodingException {
+		return LegacyDecoder.decodeUrl(value);
+	}
+
+	@Benchmark
+	public String table() throws UnsupportedEncodingException {
+		return ResolverUtils.decodeUrl(value);
+	}
+
+}
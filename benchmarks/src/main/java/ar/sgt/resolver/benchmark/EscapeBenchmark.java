@@ -0,0 +1,106 @@
+/**
+ *   EscapeBenchmark
+ *   Copyright(c) 2011 Sergio Gabriel Teves
+ * 
+ *   This file is part of UrlResolver.
+ *
+ *   UrlResolver is free software: you can redistribute it and/or modify
+ *   it under the terms of the GNU General Public License as published by
+ *   the Free Software Foundation, either version 3 of the License, or
+ *   (at your option) any later version.
+ *
+ *   UrlResolver is distributed in the hope that it will be useful,
+ *   but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *   MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *   GNU General Public License for more details.
+ *
+ *   You should have received a copy of the GNU General Public License
+ *   along with UrlResolver. If not, see <http://www.gnu.org/licenses/>.
+ */
+package ar.sgt.resolver.benchmark;
+
+import hurl.build.UrlDefaults;
+import hurl.escape.CompositeEscaper;
+import hurl.escape.Escaper;
+import hurl.escape.FormEscaper;
+import hurl.escape.PunyEscaper;
+import hurl.escape.UriEscaper;
+
+import java.nio.charset.Charset;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Escape and unescape through the hurl escapers, for inputs with nothing to
+ * escape, a few unsafe chars, only unsafe chars and non ascii text.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class EscapeBenchmark {
+
+	@Param({"uri", "form", "puny", "composite"})
+	public String escaper;
+
+	@Param({"ascii", "safe", "unsafe", "multibyte"})
+	public String input;
+
+	private Escaper target;
+
+	private String unescaped;
+
+	private String escaped;
+
+	@Setup
+	@SuppressWarnings("deprecation")
+	public void setup() {
+		Charset utf8 = Charset.forName("UTF-8");
+		if ("uri".equals(escaper)) {
+			target = new UriEscaper(utf8, UriEscaper.getNonAlphanumPattern());
+		} else if ("form".equals(escaper)) {
+			target = new FormEscaper(utf8);
+		} else if ("puny".equals(escaper)) {
+			target = PunyEscaper.INSTANCE;
+		} else {
+			target = new CompositeEscaper(PunyEscaper.INSTANCE, UrlDefaults.pathEscaper());
+		}
+		if ("ascii".equals(input)) {
+			unescaped = "someproductslug2011";
+		} else if ("safe".equals(input)) {
+			unescaped = "some product slug for 2011/12";
+		} else if ("unsafe".equals(input)) {
+			unescaped = "<>\"{}|\\^`[] %#?&=+";
+		} else {
+			unescaped = "espa\u00F1a \u65E5\u672C caf\u00E9 \uD834\uDD1E";
+		}
+		escaped = target.escape(unescaped);
+		if (!unescaped.equals(target.unescape(escaped))) {
+			throw new IllegalStateException(escaper + " does not round trip " + input);
+		}
+	}
+
+	@Benchmark
+	public String escape() {
+		return target.escape(unescaped);
+	}
+
+	@Benchmark
+	public String unescape() {
+		return target.unescape(escaped);
+	}
+
+}
@@ -0,0 +1,80 @@
+/**
+ *   LegacyDecoder
+ *   Copyright(c) 2011 Sergio Gabriel Teves
+ * 
+ *   This file is part of UrlResolver.
+ *
+ *   UrlResolver is free software: you can redistribute it and/or modify
+ *   it under the terms of the GNU General Public License as published by
+ *   the Free Software Foundation, either version 3 of the License, or
+ *   (at your option) any later version.
+ *
+ *   UrlResolver is distributed in the hope that it will be useful,
+ *   but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *   MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *   GNU General Public License for more details.
+ *
+ *   You should have received a copy of the GNU General Public License
+ *   along with UrlResolver. If not, see <http://www.gnu.org/licenses/>.
+ */
+package ar.sgt.resolver.benchmark;
+
+import java.io.UnsupportedEncodingException;
+
+/**
+ * ResolverUtils.decodeUrl as it was before the table driven decoder, kept
+ * as the baseline.
+ */
+final class LegacyDecoder {
+
+	private LegacyDecoder() {
+	}
+
+	static String decodeUrl(String s) throws UnsupportedEncodingException {
+		int numChars = s.length();
+		StringBuffer sb = new StringBuffer(numChars > 500 ? numChars / 2
+				: numChars);
+		int i = 0;
+
+		char c;
+		byte[] bytes = null;
+		while (i < numChars) {
+			c = s.charAt(i);
+			switch (c) {
+			case '%':
+				try {
+
+					if (bytes == null)
+						bytes = new byte[(numChars - i) / 3];
+					int pos = 0;
+
+					while (((i + 2) < numChars) && (c == '%')) {
+						bytes[pos++] = (byte) Integer.parseInt(
+								s.substring(i + 1, i + 3), 16);
+						i += 3;
+						if (i < numChars)
+							c = s.charAt(i);
+					}
+
+					if ((i < numChars) && (c == '%'))
+						throw new IllegalArgumentException(
+								"URLDecoder: Incomplete trailing escape (%) pattern");
+
+					sb.append(new String(bytes, 0, pos, "UTF-8"));
+				} catch (NumberFormatException e) {
+					throw new IllegalArgumentException(
+							"URLDecoder: Illegal hex characters in escape (%) pattern - "
+									+ e.getMessage());
+				}
+				break;
+			default:
+				sb.append(c);
+				i++;
+				break;
+			}
+		}
+
+		return sb.toString();
+	}
+
+}
@@ -0,0 +1,181 @@
+/**
+ *   MatchBenchmark
+ *   Copyright(c) 2011 Sergio Gabriel Teves
+ * 
+ *   This file is part of UrlResolver.
+ *
+ *   UrlResolver is free software: you can redistribute it and/or modify
+ *   it under the terms of the GNU General Public License as published by
+ *   the Free Software Foundation, either version 3 of the License, or
+ *   (at your option) any later version.
+ *
+ *   UrlResolver is distributed in the hope that it will be useful,
+ *   but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *   MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *   GNU General Public License for more details.
+ *
+ *   You should have received a copy of the GNU General Public License
+ *   along with UrlResolver. If not, see <http://www.gnu.org/licenses/>.
+ */
+package ar.sgt.resolver.benchmark;
+
+import java.io.ByteArrayInputStream;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import ar.sgt.resolver.config.ConfigParser;
+import ar.sgt.resolver.config.ResolverConfig;
+import ar.sgt.resolver.processor.ForwardProcessor;
+import ar.sgt.resolver.rule.RuleMatch;
+
+/**
+ * ResolverConfig.findRule over synthetic configs. A third of the rules are
+ * segment templates, a third capture heavy patterns and a third legacy
+ * redirects, declared after the processors as in a real config.
+ * Paths are: hits on random rules, misses sharing prefixes with the rules,
+ * and hits on the last rule, which every engine must rule out the rest for.
+ * Run with -prof gc for the allocation rate.
+ */
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class MatchBenchmark {
+
+	private static final int PATHS = 1024;
+
+	@Param({"10", "100", "1000", "10000", "100000"})
+	public int rules;
+
+	@Param({"regex", "combined", "specialized"})
+	public String engine;
+
+	private ResolverConfig config;
+	private String[] hits;
+	private String[] misses;
+	private String last;
+
+	@Setup
+	public void setup() throws Exception {
+		StringBuilder processors = new StringBuilder();
+		StringBuilder redirects = new StringBuilder();
+		List<String> processorPaths = new ArrayList<String>();
+		List<String> redirectPaths = new ArrayList<String>();
+		List<String> missPaths = new ArrayList<String>();
+		for (int i = 0; i < rules; i++) {
+			switch (i % 3) {
+			case 0:
+				processors.append("<rule name=\"c").append(i).append("\" pattern=\"^catalog/c").append(i).append("/($slug[-\\w]+)/$\"/>\n");
+				processorPaths.add("catalog/c" + i + "/some-product-2011/");
+				missPaths.add("catalog/c" + i + "/some-product/reviews/");
+				break;
+			case 1:
+				processors.append("<rule name=\"b").append(i).append("\" pattern=\"^blog/b").append(i)
+						.append("/($year\\d{4})/($month\\d{2})/($day\\d{2})/($slug[-\\w]+)\\.html$\"/>\n");
+				processorPaths.add("blog/b" + i + "/2011/06/21/hello-world.html");
+				missPaths.add("blog/b" + i + "/2011/6/21/hello-world.html");
+				break;
+			default:
+				redirects.append("<rule pattern=\"^legacy/page").append(i).append("\\.php\\?id=(.*)$\" redirect=\"/catalog/\"/>\n");
+				redirectPaths.add("legacy/page" + i + ".php?id=42");
+				missPaths.add("legacy/page" + i + ".asp?id=42");
+				break;
+			}
+		}
+		missPaths.add("static/img/logo.png");
+		String xml = "<config engine=\"" + engine + "\">\n<processor class=\"" + ForwardProcessor.class.getName() + "\">\n" + processors
+				+ "</processor>\n<redirect>\n" + redirects + "</redirect>\n</config>";
+		ExecutorService executor = Executors.newFixedThreadPool(Runtime.getRuntime().availableProcessors());
+		try {
+			config = new ConfigParser(executor).parse(new ByteArrayInputStream(xml.getBytes("UTF-8")));
+		} finally {
+			executor.shutdown();
+		}
+		List<String> hitPaths = new ArrayList<String>(processorPaths);
+		hitPaths.addAll(redirectPaths);
+		last = hitPaths.get(hitPaths.size() - 1);
+		hits = sample(hitPaths);
+		misses = sample(missPaths);
+		if (config.findRule(hits[0]) == null || config.findRule(misses[0]) != null || config.findRule(last) == null) {
+			throw new IllegalStateException("Unexpected match");
+		}
+	}
+
+	/**
+	 * @return PATHS paths taken at random
+	 */
+	private static String[] sample(List<String> paths) {
+		Collections.shuffle(paths, new Random(42));
+		String[] sample = new String[PATHS];
+		for (int i = 0; i < PATHS; i++) {
+			sample[i] = paths.get(i % paths.size());
+		}
+		return sample;
+	}
+
+	@State(Scope.Thread)
+	public static class Cursor {
+
+		private int index;
+
+		String next(String[] paths) {
+			index = (index + 1) & (PATHS - 1);
+			return paths[index];
+		}
+
+	}
+
+	@Benchmark
+	public RuleMatch hit(Cursor cursor) {
+		return config.findRule(cursor.next(hits));
+	}
+
+	@Benchmark
+	public RuleMatch miss(Cursor cursor) {
+		return config.findRule(cursor.next(misses));
+	}
+
+	@Benchmark
+	public RuleMatch lastRule() {
+		return config.findRule(last);
+	}
+
+	@Benchmark
+	@Threads(Threads.MAX)
+	public RuleMatch hitAllCores(Cursor cursor) {
+		return config.findRule(cursor.next(hits));
+	}
+
+	@Benchmark
+	@Threads(Threads.MAX)
+	public RuleMatch missAllCores(Cursor cursor) {
+		return config.findRule(cursor.next(misses));
+	}
+
+	@Benchmark
+	@Threads(Threads.MAX)
+	public RuleMatch lastRuleAllCores() {
+		return config.findRule(last);
+	}
+
+}
@@ -0,0 +1,395 @@
+/**
+ *   MockPageContext
+ *   Copyright(c) 2011 Sergio Gabriel Teves
+ * 
+ *   This file is part of UrlResolver.
+ *
+ *   UrlResolver is free software: you can redistribute it and/or modify
+ *   it under the terms of the GNU General Public License as published by
+ *   the Free Software Foundation, either version 3 of the License, or
+ *   (at your option) any later version.
+ *
+ *   UrlResolver is distributed in the hope that it will be useful,
+ *   but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *   MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *   GNU General Public License for more details.
+ *
+ *   You should have received a copy of the GNU General Public License
+ *   along with UrlResolver. If not, see <http://www.gnu.org/licenses/>.
+ */
+package ar.sgt.resolver.benchmark;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.Collections;
+import java.util.Enumeration;
+import java.util.HashMap;
+import java.util.Map;
+
+import javax.servlet.Servlet;
+import javax.servlet.ServletConfig;
+import javax.servlet.ServletContext;
+import javax.servlet.ServletRequest;
+import javax.servlet.ServletResponse;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpSession;
+import javax.servlet.jsp.JspWriter;
+import javax.servlet.jsp.PageContext;
+import javax.servlet.jsp.el.ExpressionEvaluator;
+import javax.servlet.jsp.el.VariableResolver;
+
+/**
+ * Page context for running tags outside a container. The servlet context
+ * keeps its attributes in a map and the request only answers the context
+ * path; both are dynamic proxies, a constant cost in the tag numbers.
+ * The page output is counted and discarded.
+ */
+public class MockPageContext extends PageContext {
+
+	private final Map<String, Object> attributes = new HashMap<String, Object>();
+	private final Map<String, Object> applicationAttributes = new HashMap<String, Object>();
+	private final ServletContext servletContext;
+	private final HttpServletRequest request;
+	private final CountingWriter out = new CountingWriter();
+
+	public MockPageContext(final String contextPath) {
+		this.servletContext = proxy(ServletContext.class, new InvocationHandler() {
+			public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+				String name = method.getName();
+				if (name.equals("getAttribute")) return applicationAttributes.get(args[0]);
+				if (name.equals("setAttribute")) return applicationAttributes.put((String) args[0], args[1]);
+				if (name.equals("removeAttribute")) return applicationAttributes.remove(args[0]);
+				return defaultValue(proxy, method, args);
+			}
+		});
+		this.request = proxy(HttpServletRequest.class, new InvocationHandler() {
+			public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+				if (method.getName().equals("getContextPath")) return contextPath;
+				return defaultValue(proxy, method, args);
+			}
+		});
+	}
+
+	private static <T> T proxy(Class<T> type, InvocationHandler handler) {
+		return type.cast(Proxy.newProxyInstance(MockPageContext.class.getClassLoader(), new Class<?>[] { type }, handler));
+	}
+
+	private static Object defaultValue(Object proxy, Method method, Object[] args) {
+		String name = method.getName();
+		if (name.equals("equals")) return proxy == args[0];
+		if (name.equals("hashCode")) return System.identityHashCode(proxy);
+		if (name.equals("toString")) return proxy.getClass().getName();
+		Class<?> type = method.getReturnType();
+		if (type == boolean.class) return Boolean.FALSE;
+		if (type == int.class) return 0;
+		if (type == long.class) return 0L;
+		return null;
+	}
+
+	/**
+	 * @return the number of chars written to the page
+	 */
+	public long getWritten() {
+		return this.out.count;
+	}
+
+	@Override
+	public void initialize(Servlet servlet, ServletRequest request, ServletResponse response, String errorPageURL, boolean needsSession, int bufferSize, boolean autoFlush) {
+	}
+
+	@Override
+	public void release() {
+	}
+
+	@Override
+	public HttpSession getSession() {
+		return null;
+	}
+
+	@Override
+	public Object getPage() {
+		return null;
+	}
+
+	@Override
+	public ServletRequest getRequest() {
+		return this.request;
+	}
+
+	@Override
+	public ServletResponse getResponse() {
+		return null;
+	}
+
+	@Override
+	public Exception getException() {
+		return null;
+	}
+
+	@Override
+	public ServletConfig getServletConfig() {
+		return null;
+	}
+
+	@Override
+	public ServletContext getServletContext() {
+		return this.servletContext;
+	}
+
+	@Override
+	public void forward(String relativeUrlPath) {
+		throw new UnsupportedOperationException();
+	}
+
+	@Override
+	public void include(String relativeUrlPath) {
+		throw new UnsupportedOperationException();
+	}
+
+	@Override
+	public void include(String relativeUrlPath, boolean flush) {
+		throw new UnsupportedOperationException();
+	}
+
+	@Override
+	public void handlePageException(Exception e) {
+		throw new UnsupportedOperationException(e);
+	}
+
+	@Override
+	public void handlePageException(Throwable t) {
+		throw new UnsupportedOperationException(t);
+	}
+
+	@Override
+	public void setAttribute(String name, Object value) {
+		this.attributes.put(name, value);
+	}
+
+	@Override
+	public void setAttribute(String name, Object value, int scope) {
+		if (scope == APPLICATION_SCOPE) {
+			this.applicationAttributes.put(name, value);
+		} else {
+			this.attributes.put(name, value);
+		}
+	}
+
+	@Override
+	public Object getAttribute(String name) {
+		return this.attributes.get(name);
+	}
+
+	@Override
+	public Object getAttribute(String name, int scope) {
+		return scope == APPLICATION_SCOPE ? this.applicationAttributes.get(name) : this.attributes.get(name);
+	}
+
+	@Override
+	public Object findAttribute(String name) {
+		Object value = this.attributes.get(name);
+		return value != null ? value : this.applicationAttributes.get(name);
+	}
+
+	@Override
+	public void removeAttribute(String name) {
+		this.attributes.remove(name);
+		this.applicationAttributes.remove(name);
+	}
+
+	@Override
+	public void removeAttribute(String name, int scope) {
+		if (scope == APPLICATION_SCOPE) {
+			this.applicationAttributes.remove(name);
+		} else {
+			this.attributes.remove(name);
+		}
+	}
+
+	@Override
+	public int getAttributesScope(String name) {
+		if (this.attributes.containsKey(name)) return PAGE_SCOPE;
+		return this.applicationAttributes.containsKey(name) ? APPLICATION_SCOPE : 0;
+	}
+
+	@Override
+	@SuppressWarnings("rawtypes")
+	public Enumeration getAttributeNamesInScope(int scope) {
+		return Collections.enumeration(scope == APPLICATION_SCOPE ? this.applicationAttributes.keySet() : this.attributes.keySet());
+	}
+
+	@Override
+	public JspWriter getOut() {
+		return this.out;
+	}
+
+	@Override
+	public ExpressionEvaluator getExpressionEvaluator() {
+		return null;
+	}
+
+	@Override
+	public VariableResolver getVariableResolver() {
+		return null;
+	}
+
+	/**
+	 * Discards the output, only counting the chars.
+	 */
+	private static final class CountingWriter extends JspWriter {
+
+		private long count;
+
+		private CountingWriter() {
+			super(0, true);
+		}
+
+		@Override
+		public void write(char[] cbuf, int off, int len) {
+			this.count += len;
+		}
+
+		@Override
+		public void write(String str, int off, int len) {
+			this.count += len;
+		}
+
+		@Override
+		public void write(int c) {
+			this.count++;
+		}
+
+		@Override
+		public void newLine() {
+			this.count++;
+		}
+
+		@Override
+		public void print(boolean b) {
+			this.count += String.valueOf(b).length();
+		}
+
+		@Override
+		public void print(char c) {
+			this.count++;
+		}
+
+		@Override
+		public void print(int i) {
+			this.count += String.valueOf(i).length();
+		}
+
+		@Override
+		public void print(long l) {
+			this.count += String.valueOf(l).length();
+		}
+
+		@Override
+		public void print(float f) {
+			this.count += String.valueOf(f).length();
+		}
+
+		@Override
+		public void print(double d) {
+			this.count += String.valueOf(d).length();
+		}
+
+		@Override
+		public void print(char[] s) {
+			this.count += s.length;
+		}
+
+		@Override
+		public void print(String s) {
+			this.count += String.valueOf(s).length();
+		}
+
+		@Override
+		public void print(Object obj) {
+			this.count += String.valueOf(obj).length();
+		}
+
+		@Override
+		public void println() {
+			newLine();
+		}
+
+		@Override
+		public void println(boolean x) {
+			print(x);
+			newLine();
+		}
+
+		@Override
+		public void println(char x) {
+			print(x);
+			newLine();
+		}
+
+		@Override
+		public void println(int x) {
+			print(x);
+			newLine();
+		}
+
+		@Override
+		public void println(long x) {
+			print(x);
+			newLine();
+		}
+
+		@Override
+		public void println(float x) {
+			print(x);
+			newLine();
+		}
+
+		@Override
+		public void println(double x) {
+			print(x);
+			newLine();
+		}
+
+		@Override
+		public void println(char[] x) {
+			print(x);
+			newLine();
+		}
+
+		@Override
+		public void println(String x) {
+			print(x);
+			newLine();
+		}
+
+		@Override
+		public void println(Object x) {
+			print(x);
+			newLine();
+		}
+
+		@Override
+		public void clear() {
+		}
+
+		@Override
+		public void clearBuffer() {
+		}
+
+		@Override
+		public void flush() {
+		}
+
+		@Override
+		public void close() {
+		}
+
+		@Override
+		public int getRemaining() {
+			return 0;
+		}
+
+	}
+
+}
@@ -0,0 +1,112 @@
+/**
+ *   QueryBenchmark
+ *   Copyright(c) 2011 Sergio Gabriel Teves
+ * 
+ *   This file is part of UrlResolver.
+ *
+ *   UrlResolver is free software: you can redistribute it and/or modify
+ *   it under the terms of the GNU General Public License as published by
+ *   the Free Software Foundation, either version 3 of the License, or
+ *   (at your option) any later version.
+ *
+ *   UrlResolver is distributed in the hope that it will be useful,
+ *   but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *   MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *   GNU General Public License for more details.
+ *
+ *   You should have received a copy of the GNU General Public License
+ *   along with UrlResolver. If not, see <http://www.gnu.org/licenses/>.
+ */
+package ar.sgt.resolver.benchmark;
+
+import hurl.build.PathBuilder;
+import hurl.build.QueryBuilder;
+import hurl.build.UriBuilder;
+import hurl.build.UrlDefaults;
+import hurl.parts.Query;
+
+import java.net.URI;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Query parsing and building with the hurl builders, and a full uri built
+ * from a scheme, host, escaped path, that query and a fragment.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class QueryBenchmark {
+
+	@Param({"1", "10", "100"})
+	public int params;
+
+	private String[] keys;
+
+	private String[] values;
+
+	private String query;
+
+	@Setup
+	public void setup() {
+		keys = new String[params];
+		values = new String[params];
+		QueryBuilder builder = QueryBuilder.create();
+		for (int i = 0; i < params; i++) {
+			keys[i] = "key" + i;
+			values[i] = (i % 2 == 0) ? "value" + i : "value " + i + " & caf\u00E9";
+			builder.addParam(keys[i], values[i]);
+		}
+		query = builder.toString();
+		if (!query.equals(roundTrip())) {
+			throw new IllegalStateException("query does not round trip: " + query);
+		}
+	}
+
+	@Benchmark
+	public Query parse() {
+		return QueryBuilder.create().parse(query).build();
+	}
+
+	@Benchmark
+	public String build() {
+		QueryBuilder builder = QueryBuilder.create();
+		for (int i = 0; i < params; i++) {
+			builder.addParam(keys[i], values[i]);
+		}
+		return builder.toString();
+	}
+
+	@Benchmark
+	public String roundTrip() {
+		return QueryBuilder.create().parse(query).toString();
+	}
+
+	@Benchmark
+	public URI uri() {
+		PathBuilder path = PathBuilder.create().setLeadingSeparator(true);
+		path.addElement("products").addElement("caf\u00E9 & t\u00E9").addElement("2011");
+		QueryBuilder builder = QueryBuilder.create();
+		for (int i = 0; i < params; i++) {
+			builder.addParam(keys[i], values[i]);
+		}
+		return UriBuilder.create().setScheme("http").setHost("www.example.com")
+				.setPort(8080).setPath(path).setQuery(builder)
+				.setFragment(UrlDefaults.fragmentEscaper().escape("section 2")).build();
+	}
+
+}
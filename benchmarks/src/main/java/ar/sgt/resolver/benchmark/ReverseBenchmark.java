@@ -0,0 +1,184 @@
+/**
+ *   ReverseBenchmark
+ *   Copyright(c) 2011 Sergio Gabriel Teves
+ * 
+ *   This file is part of UrlResolver.
+ *
+ *   UrlResolver is free software: you can redistribute it and/or modify
+ *   it under the terms of the GNU General Public License as published by
+ *   the Free Software Foundation, either version 3 of the License, or
+ *   (at your option) any later version.
+ *
+ *   UrlResolver is distributed in the hope that it will be useful,
+ *   but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *   MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *   GNU General Public License for more details.
+ *
+ *   You should have received a copy of the GNU General Public License
+ *   along with UrlResolver. If not, see <http://www.gnu.org/licenses/>.
+ */
+package ar.sgt.resolver.benchmark;
+
+import java.io.ByteArrayInputStream;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.concurrent.TimeUnit;
+
+import javax.servlet.jsp.JspException;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import ar.sgt.resolver.config.ConfigHolder;
+import ar.sgt.resolver.config.ConfigParser;
+import ar.sgt.resolver.config.ResolverConfig;
+import ar.sgt.resolver.exception.ReverseException;
+import ar.sgt.resolver.exception.RuleNotFoundException;
+import ar.sgt.resolver.listener.ContextLoader;
+import ar.sgt.resolver.processor.ForwardProcessor;
+import ar.sgt.resolver.tag.ParamTag;
+import ar.sgt.resolver.tag.UrlCleanTag;
+import ar.sgt.resolver.tag.UrlTag;
+import ar.sgt.resolver.utils.RegexpHelper;
+import ar.sgt.resolver.utils.UrlReverse;
+
+/**
+ * Link generation: UrlReverse, RegexpHelper.normalize and the url tags
+ * running against a {@link MockPageContext}.
+ * The cases are a rule without groups, a rule with an unnamed group,
+ * one and five named params, and params that don't name a group and go
+ * to the query string.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class ReverseBenchmark {
+
+	private static final String CONFIG = "<config><processor class=\"" + ForwardProcessor.class.getName() + "\">"
+			+ "<rule name=\"zero\" pattern=\"^/about/contact/$\"/>"
+			+ "<rule name=\"unnamed\" pattern=\"^/legacy/(.*)\\.html$\"/>"
+			+ "<rule name=\"few\" pattern=\"^/product/($slug[-\\w]+)/$\"/>"
+			+ "<rule name=\"many\" pattern=\"^/archive/($year\\d{4})/($month\\d{2})/($day\\d{2})/($category[-\\w]+)/($slug[-\\w]+)/$\"/>"
+			+ "<rule name=\"overflow\" pattern=\"^/search/($section[-\\w]+)/$\"/>"
+			+ "</processor></config>";
+
+	@Param({"zero", "unnamed", "few", "many", "overflow"})
+	public String rule;
+
+	private String pattern;
+	private Map<String, String> params;
+	private UrlReverse reverse;
+	private StringBuilder buffer;
+	private MockPageContext pageContext;
+	private UrlTag urlTag;
+	private ParamTag[] paramTags;
+	private UrlCleanTag urlCleanTag;
+
+	@Setup
+	public void setup() throws Exception {
+		ResolverConfig config = new ConfigParser().parse(new ByteArrayInputStream(CONFIG.getBytes("UTF-8")));
+		pattern = config.findByName(rule).getPattern();
+		params = new LinkedHashMap<String, String>();
+		if ("few".equals(rule)) {
+			params.put("slug", "blue-suede-shoes");
+		} else if ("many".equals(rule)) {
+			params.put("year", "2011");
+			params.put("month", "06");
+			params.put("day", "21");
+			params.put("category", "music");
+			params.put("slug", "blue suede shoes");
+		} else if ("overflow".equals(rule)) {
+			params.put("section", "books");
+			params.put("q", "jmh benchmarks");
+			params.put("page", "2");
+			params.put("sort", "price");
+			params.put("lang", "es");
+		}
+		reverse = new UrlReverse(config);
+		buffer = new StringBuilder();
+
+		pageContext = new MockPageContext("/shop");
+		pageContext.getServletContext().setAttribute(ContextLoader.RESOLVER_CONFIG, config);
+		pageContext.getServletContext().setAttribute(ContextLoader.RESOLVER_CONFIG_HOLDER, new ConfigHolder(config));
+		urlTag = new UrlTag();
+		urlTag.setPageContext(pageContext);
+		paramTags = new ParamTag[params.size()];
+		int i = 0;
+		for (Entry<String, String> param : params.entrySet()) {
+			ParamTag tag = new ParamTag();
+			tag.setPageContext(pageContext);
+			tag.setParent(urlTag);
+			tag.setName(param.getKey());
+			tag.setValue(param.getValue());
+			paramTags[i++] = tag;
+		}
+		urlCleanTag = new UrlCleanTag();
+		urlCleanTag.setPageContext(pageContext);
+		urlCleanTag.setName(rule);
+		// the tags log and write "#" on errors, check the case works
+		reverse.resolve(rule, params);
+	}
+
+	@Benchmark
+	public String resolve() throws RuleNotFoundException, ReverseException {
+		return reverse.resolve(rule, params);
+	}
+
+	@Benchmark
+	public StringBuilder resolveAppend() throws Exception {
+		buffer.setLength(0);
+		reverse.resolve(rule, params, "/shop", buffer);
+		return buffer;
+	}
+
+	@Benchmark
+	public String normalize() {
+		return RegexpHelper.normalize(pattern);
+	}
+
+	@Benchmark
+	public long urlTag() throws JspException {
+		urlTag.setName(rule);
+		urlTag.setVar(null);
+		renderUrlTag();
+		return pageContext.getWritten();
+	}
+
+	@Benchmark
+	public Object urlTagVar() throws JspException {
+		urlTag.setName(rule);
+		urlTag.setVar("link");
+		renderUrlTag();
+		return pageContext.getAttribute("link");
+	}
+
+	private void renderUrlTag() throws JspException {
+		urlTag.doStartTag();
+		for (ParamTag tag : paramTags) {
+			tag.doStartTag();
+			tag.doEndTag();
+		}
+		urlTag.doEndTag();
+	}
+
+	@Benchmark
+	public long urlCleanTag() throws JspException {
+		urlCleanTag.doStartTag();
+		urlCleanTag.doEndTag();
+		return pageContext.getWritten();
+	}
+
+}
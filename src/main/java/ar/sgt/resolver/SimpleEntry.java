@@ -1,57 +1,57 @@
-/**
- *   Copyright(c) 2010-2011 CodWar Soft
- * 
- *   This file is part of IPDB UrT.
- *
- *   IPDB UrT is free software: you can redistribute it and/or modify
- *   it under the terms of the GNU General Public License as published by
- *   the Free Software Foundation, either version 3 of the License, or
- *   (at your option) any later version.
- *
- *   This software is distributed in the hope that it will be useful,
- *   but WITHOUT ANY WARRANTY; without even the implied warranty of
- *   MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
- *   GNU General Public License for more details.
- *
- *   You should have received a copy of the GNU General Public License
- *   along with this software. If not, see <http://www.gnu.org/licenses/>.
- */
-package ar.sgt.resolver;
-
-import java.util.Map.Entry;
-
-public class SimpleEntry implements Entry<String, String> {
-
-	private String key;
-	private String value;
-
-	public SimpleEntry(String key, String value) {
-		this.key = key;
-		this.value = value;
-	}
-	
-	/* (non-Javadoc)
-	 * @see java.util.Map.Entry#getKey()
-	 */
-	@Override
-	public String getKey() {
-		return this.key;
-	}
-
-	/* (non-Javadoc)
-	 * @see java.util.Map.Entry#getValue()
-	 */
-	@Override
-	public String getValue() {
-		return this.value;
-	}
-
-	/* (non-Javadoc)
-	 * @see java.util.Map.Entry#setValue(java.lang.Object)
-	 */
-	@Override
-	public String setValue(String value) {
-		return this.value = value;
-	}
-
-}
+/**
+ *   Copyright(c) 2010-2011 CodWar Soft
+ * 
+ *   This file is part of IPDB UrT.
+ *
+ *   IPDB UrT is free software: you can redistribute it and/or modify
+ *   it under the terms of the GNU General Public License as published by
+ *   the Free Software Foundation, either version 3 of the License, or
+ *   (at your option) any later version.
+ *
+ *   This software is distributed in the hope that it will be useful,
+ *   but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *   MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *   GNU General Public License for more details.
+ *
+ *   You should have received a copy of the GNU General Public License
+ *   along with this software. If not, see <http://www.gnu.org/licenses/>.
+ */
+package ar.sgt.resolver;
+
+import java.util.Map.Entry;
+
+public class SimpleEntry implements Entry<String, String> {
+
+	private String key;
+	private String value;
+
+	public SimpleEntry(String key, String value) {
+		this.key = key;
+		this.value = value;
+	}
+	
+	/* (non-Javadoc)
+	 * @see java.util.Map.Entry#getKey()
+	 */
+	@Override
+	public String getKey() {
+		return this.key;
+	}
+
+	/* (non-Javadoc)
+	 * @see java.util.Map.Entry#getValue()
+	 */
+	@Override
+	public String getValue() {
+		return this.value;
+	}
+
+	/* (non-Javadoc)
+	 * @see java.util.Map.Entry#setValue(java.lang.Object)
+	 */
+	@Override
+	public String setValue(String value) {
+		return this.value = value;
+	}
+
+}
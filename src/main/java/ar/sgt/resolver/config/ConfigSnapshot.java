@@ -0,0 +1,211 @@
+/**
+ *   ConfigSnapshot
+ *   Copyright(c) 2011 Sergio Gabriel Teves
+ * 
+ *   This file is part of UrlResolver.
+ *
+ *   UrlResolver is free software: you can redistribute it and/or modify
+ *   it under the terms of the GNU General Public License as published by
+ *   the Free Software Foundation, either version 3 of the License, or
+ *   (at your option) any later version.
+ *
+ *   UrlResolver is distributed in the hope that it will be useful,
+ *   but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *   MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *   GNU General Public License for more details.
+ *
+ *   You should have received a copy of the GNU General Public License
+ *   along with UrlResolver. If not, see <http://www.gnu.org/licenses/>.
+ */
+package ar.sgt.resolver.config;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.concurrent.ExecutorService;
+import java.util.zip.CRC32;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import ar.sgt.resolver.exception.ConfigException;
+import ar.sgt.resolver.rule.MatchEngine;
+import ar.sgt.resolver.rule.Rule;
+import ar.sgt.resolver.utils.BinaryCodec;
+
+/**
+ * Binary snapshot of a parsed config, to skip the xml parsing and what is
+ * derived from the rule patterns on the next startup.
+ * The snapshot is tied to the checksum of the xml it was built from and is
+ * ignored when the xml changes, the version changes or the data is corrupt.
+ * <p>
+ * Besides the xml, the rules keep data derived from their patterns (literal
+ * prefix and suffix, reverse template), so {@link #VERSION} must be bumped
+ * whenever the format or the way that data is derived changes. Otherwise a
+ * snapshot written by a previous release would be loaded as it is.
+ * <p>
+ * Format: magic, version, xml checksum, engine, rule count, the rules and a
+ * CRC32 of everything before it.
+ */
+public final class ConfigSnapshot {
+
+	private static final Logger log = LoggerFactory.getLogger(ConfigSnapshot.class);
+
+	private static final int MAGIC = 0x55525350;
+	/* 2: no literal suffix for patterns with inline flags */
+	static final int VERSION = 2;
+
+	private ConfigSnapshot() {
+	}
+
+	/**
+	 * @return the SHA-256 of the xml
+	 */
+	public static byte[] checksum(byte[] xml) {
+		try {
+			return MessageDigest.getInstance("SHA-256").digest(xml);
+		} catch (NoSuchAlgorithmException e) {
+			throw new IllegalStateException(e);
+		}
+	}
+
+	/**
+	 * @return the config, or null if the snapshot doesn't exist or can't be
+	 * used for the given xml checksum
+	 */
+	public static ResolverConfig read(File file, byte[] checksum) throws IOException {
+		return read(file, checksum, null);
+	}
+
+	/**
+	 * @param executor used to compile the rules, null to compile them in
+	 * the calling thread
+	 * @return the config, or null if the snapshot doesn't exist or can't be
+	 * used for the given xml checksum
+	 */
+	public static ResolverConfig read(File file, byte[] checksum, ExecutorService executor) throws IOException {
+		if (!file.isFile()) return null;
+		// read on the heap, a mapped file can't be replaced on some platforms
+		// until the buffer is collected
+		byte[] data;
+		RandomAccessFile raf = new RandomAccessFile(file, "r");
+		try {
+			data = new byte[(int) raf.length()];
+			raf.readFully(data);
+		} finally {
+			raf.close();
+		}
+		return read(ByteBuffer.wrap(data), checksum, executor);
+	}
+
+	private static ResolverConfig read(ByteBuffer in, byte[] checksum, ExecutorService executor) {
+		try {
+			if (in.getInt() != MAGIC) {
+				log.warn("Not a config snapshot");
+				return null;
+			}
+			int version = in.getInt();
+			if (version != VERSION) {
+				log.debug("Snapshot version {} is not supported", version);
+				return null;
+			}
+			int length = in.getInt();
+			if (length != checksum.length) return null;
+			byte[] source = new byte[length];
+			in.get(source);
+			if (!Arrays.equals(source, checksum)) {
+				log.debug("Config changed, snapshot ignored");
+				return null;
+			}
+			if (!verifyCrc(in)) {
+				log.warn("Corrupt config snapshot");
+				return null;
+			}
+			ResolverConfig config = new ResolverConfig();
+			String engine = BinaryCodec.readString(in);
+			if (engine == null) throw new IllegalArgumentException("Missing match engine");
+			config.setEngine(MatchEngine.valueOf(engine));
+			int count = in.getInt();
+			for (int i = 0; i < count; i++) {
+				config.addRule(Rule.read(in));
+			}
+			config.compileRules(executor);
+			return config;
+		} catch (BufferUnderflowException e) {
+			log.warn("Truncated config snapshot");
+		} catch (IllegalArgumentException e) {
+			log.warn("Invalid config snapshot: {}", e.getMessage());
+		} catch (ConfigException e) {
+			log.warn("Invalid config snapshot: {}", e.getMessage());
+		}
+		return null;
+	}
+
+	/**
+	 * Compares the CRC stored at the end with the one of the data from the
+	 * position, which is not changed.
+	 */
+	private static boolean verifyCrc(ByteBuffer in) {
+		int end = in.limit() - 8;
+		if (end < in.position()) return false;
+		ByteBuffer data = in.duplicate();
+		data.limit(end);
+		CRC32 crc = new CRC32();
+		// start over, the crc covers the header
+		data.position(0);
+		byte[] chunk = new byte[8192];
+		while (data.hasRemaining()) {
+			int size = Math.min(chunk.length, data.remaining());
+			data.get(chunk, 0, size);
+			crc.update(chunk, 0, size);
+		}
+		return crc.getValue() == in.getLong(end);
+	}
+
+	/**
+	 * Writes the snapshot of the config, replacing the file once it is
+	 * complete.
+	 */
+	public static void write(ResolverConfig config, byte[] checksum, File file) throws IOException {
+		ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+		DataOutputStream out = new DataOutputStream(bytes);
+		out.writeInt(MAGIC);
+		out.writeInt(VERSION);
+		out.writeInt(checksum.length);
+		out.write(checksum);
+		BinaryCodec.writeString(out, config.rules.getEngine().name());
+		out.writeInt(config.rules.rules.size());
+		for (Rule rule : config.rules.rules.values()) {
+			rule.write(out);
+		}
+		CRC32 crc = new CRC32();
+		crc.update(bytes.toByteArray());
+		out.writeLong(crc.getValue());
+		out.flush();
+
+		File temp = new File(file.getAbsoluteFile().getParentFile(), file.getName() + ".tmp");
+		FileOutputStream fos = new FileOutputStream(temp);
+		try {
+			bytes.writeTo(fos);
+		} finally {
+			fos.close();
+		}
+		if (!temp.renameTo(file)) {
+			// some platforms can't rename over an existing file
+			if (!file.delete() || !temp.renameTo(file)) {
+				temp.delete();
+				throw new IOException("Unable to write snapshot " + file);
+			}
+		}
+		log.debug("Config snapshot written to {}", file);
+	}
+
+}
@@ -1,52 +1,193 @@
-/**
- *   ResolverConfig
- *   Copyright(c) 2011 Sergio Gabriel Teves
- * 
- *   This file is part of UrlResolver.
- *
- *   UrlResolver is free software: you can redistribute it and/or modify
- *   it under the terms of the GNU General Public License as published by
- *   the Free Software Foundation, either version 3 of the License, or
- *   (at your option) any later version.
- *
- *   UrlResolver is distributed in the hope that it will be useful,
- *   but WITHOUT ANY WARRANTY; without even the implied warranty of
- *   MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
- *   GNU General Public License for more details.
- *
- *   You should have received a copy of the GNU General Public License
- *   along with UrlResolver. If not, see <http://www.gnu.org/licenses/>.
- */
-package ar.sgt.resolver.config;
-
-import ar.sgt.resolver.rule.Rule;
-import ar.sgt.resolver.rule.RuleSet;
-
-public class ResolverConfig {
-
-	public RuleSet rules;
-	
-	ResolverConfig() {
-		rules = new RuleSet();
-	}
-	
-	protected Rule addRule(String controller, String path, String name, String forward) {
-		return this.rules.addRule(controller, path, name, forward);
-	}
-
-	public Rule findRule(String path) {
-		return rules.match(path);
-	}
-	
-	public Rule findByName(String name) {
-		return this.rules.findByName(name);
-	}
-	
-	/* (non-Javadoc)
-	 * @see java.lang.Object#toString()
-	 */
-	@Override
-	public String toString() {
-		return this.rules.toString();
-	}
-}
+/**
+ *   ResolverConfig
+ *   Copyright(c) 2011 Sergio Gabriel Teves
+ * 
+ *   This file is part of UrlResolver.
+ *
+ *   UrlResolver is free software: you can redistribute it and/or modify
+ *   it under the terms of the GNU General Public License as published by
+ *   the Free Software Foundation, either version 3 of the License, or
+ *   (at your option) any later version.
+ *
+ *   UrlResolver is distributed in the hope that it will be useful,
+ *   but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *   MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *   GNU General Public License for more details.
+ *
+ *   You should have received a copy of the GNU General Public License
+ *   along with UrlResolver. If not, see <http://www.gnu.org/licenses/>.
+ */
+package ar.sgt.resolver.config;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import ar.sgt.resolver.exception.ConfigException;
+import ar.sgt.resolver.exception.ProcessorException;
+import ar.sgt.resolver.exception.ReverseException;
+import ar.sgt.resolver.exception.RuleNotFoundException;
+import ar.sgt.resolver.processor.PermanentRedirectProcessor;
+import ar.sgt.resolver.processor.Processor;
+import ar.sgt.resolver.processor.ProcessorFactory;
+import ar.sgt.resolver.processor.ProcessorProvider;
+import ar.sgt.resolver.rule.MatchEngine;
+import ar.sgt.resolver.rule.RedirectTarget;
+import ar.sgt.resolver.rule.Rule;
+import ar.sgt.resolver.rule.RuleMatch;
+import ar.sgt.resolver.rule.RuleSet;
+import ar.sgt.resolver.utils.UrlReverse;
+
+public class ResolverConfig {
+
+	private static final Logger log = LoggerFactory.getLogger(ResolverConfig.class);
+
+	public RuleSet rules;
+	
+	ResolverConfig() {
+		rules = new RuleSet();
+	}
+	
+	protected Rule addRule(String controller, String path, String name, String forward) {
+		return this.rules.addRule(controller, path, name, forward);
+	}
+
+	protected void addRule(Rule rule) {
+		this.rules.addRule(rule);
+	}
+
+	protected void setEngine(MatchEngine engine) {
+		this.rules.setEngine(engine);
+	}
+
+	/**
+	 * Compiles the pattern of each rule, on the executor when one is given
+	 * or else in the calling thread. The rules keep the declared order.
+	 * @throws ConfigException with the error of every rule that failed
+	 */
+	protected void compileRules(ExecutorService executor) throws ConfigException {
+		Collection<Rule> ruleList = this.rules.rules.values();
+		List<String> errors = new ArrayList<String>();
+		if (executor == null) {
+			for (Rule rule : ruleList) {
+				try {
+					rule.compile();
+				} catch (RuntimeException e) {
+					errors.add(compileError(rule, e));
+				}
+			}
+		} else {
+			List<Future<?>> results = new ArrayList<Future<?>>(ruleList.size());
+			for (final Rule rule : ruleList) {
+				results.add(executor.submit(new Runnable() {
+					public void run() {
+						rule.compile();
+					}
+				}));
+			}
+			Iterator<Rule> it = ruleList.iterator();
+			for (Future<?> result : results) {
+				Rule rule = it.next();
+				try {
+					result.get();
+				} catch (ExecutionException e) {
+					errors.add(compileError(rule, e.getCause()));
+				} catch (InterruptedException e) {
+					for (Future<?> pending : results) {
+						pending.cancel(true);
+					}
+					Thread.currentThread().interrupt();
+					throw new ConfigException("Interrupted while compiling rules");
+				}
+			}
+		}
+		if (!errors.isEmpty()) throw new ConfigException(errors);
+		log.debug("{} rules compiled", ruleList.size());
+	}
+
+	private static String compileError(Rule rule, Throwable t) {
+		return "Invalid pattern " + rule.getPattern() + (rule.getName() != null ? " for rule " + rule.getName() : "") + ": " + t.getMessage();
+	}
+
+	/**
+	 * Resolves the redirect of each rule. A redirect naming a rule becomes the
+	 * url of that rule, any other is a literal url. Permanent redirects keep
+	 * the rule name, they are reversed with the request params.
+	 * Must be called after all the rules were added.
+	 */
+	protected void resolveRedirects() {
+		UrlReverse reverse = new UrlReverse(this);
+		for (Rule rule : this.rules.rules.values()) {
+			String redirect = rule.getRedirect();
+			if (redirect == null) continue;
+			if (rule.getProcessor().equals(PermanentRedirectProcessor.class.getName()) || findByName(redirect) == null) {
+				rule.setRedirectTarget(RedirectTarget.literal(redirect));
+				continue;
+			}
+			try {
+				rule.setRedirectTarget(RedirectTarget.named(reverse.resolve(redirect)));
+				log.trace("Using named rule {}", redirect);
+			} catch (ReverseException e) {
+				log.error(e.getMessage());
+				rule.setRedirectTarget(RedirectTarget.literal(redirect));
+			} catch (RuleNotFoundException e) {
+				rule.setRedirectTarget(RedirectTarget.literal(redirect));
+			}
+		}
+	}
+
+	/**
+	 * Resolves the processor of each rule. Rules whose processor can't be
+	 * loaded are logged and left without one.
+	 * @return the number of rules that failed
+	 */
+	public int loadProcessors(ProcessorFactory factory) {
+		int failed = 0;
+		for (Rule rule : this.rules.rules.values()) {
+			try {
+				Class<?> type = Class.forName(rule.getProcessor());
+				if (!Processor.class.isAssignableFrom(type)) {
+					throw new ProcessorException(type.getName() + " is not a " + Processor.class.getName());
+				}
+				rule.setProcessorProvider(new ProcessorProvider(type.asSubclass(Processor.class), rule.getScope(), factory));
+			} catch (ClassNotFoundException e) {
+				log.error("Processor class {} not found for rule {}", rule.getProcessor(), rule.getPattern());
+				failed++;
+			} catch (ProcessorException e) {
+				log.error("Can't load processor {} for rule {}: {}", new Object[] {rule.getProcessor(), rule.getPattern(), e.getMessage()});
+				failed++;
+			}
+		}
+		return failed;
+	}
+
+	public RuleMatch findRule(CharSequence path) {
+		return rules.match(path);
+	}
+	
+	/**
+	 * @return false if the path can't match any rule
+	 */
+	public boolean mayMatch(CharSequence path) {
+		return rules.mayMatch(path);
+	}
+	
+	public Rule findByName(String name) {
+		return this.rules.findByName(name);
+	}
+	
+	/* (non-Javadoc)
+	 * @see java.lang.Object#toString()
+	 */
+	@Override
+	public String toString() {
+		return this.rules.toString();
+	}
+}
@@ -0,0 +1,65 @@
+/**
+ *   RouteTable
+ *   Copyright(c) 2011 Sergio Gabriel Teves
+ * 
+ *   This file is part of UrlResolver.
+ *
+ *   UrlResolver is free software: you can redistribute it and/or modify
+ *   it under the terms of the GNU General Public License as published by
+ *   the Free Software Foundation, either version 3 of the License, or
+ *   (at your option) any later version.
+ *
+ *   UrlResolver is distributed in the hope that it will be useful,
+ *   but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *   MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *   GNU General Public License for more details.
+ *
+ *   You should have received a copy of the GNU General Public License
+ *   along with UrlResolver. If not, see <http://www.gnu.org/licenses/>.
+ */
+package ar.sgt.resolver.config;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+
+import ar.sgt.resolver.exception.ConfigException;
+import ar.sgt.resolver.exception.ProcessorException;
+import ar.sgt.resolver.processor.ProcessorFactory;
+import ar.sgt.resolver.rule.MatchEngine;
+import ar.sgt.resolver.rule.Rule;
+
+/**
+ * Config written as a class by {@link RouteTableGenerator} at build time.
+ * It is loaded in place of the xml, without parsing it or looking up the
+ * processor classes; only the rule patterns are compiled on load.
+ */
+public abstract class RouteTable {
+
+	/**
+	 * @param executor used to compile the rules, null to compile them in
+	 * the calling thread
+	 * @throws ProcessorException if a singleton processor can't be created
+	 * @throws ConfigException if any rule pattern is not valid
+	 */
+	public final ResolverConfig load(ProcessorFactory factory, ExecutorService executor) throws ProcessorException, ConfigException {
+		List<Rule> rules = new ArrayList<Rule>();
+		addRules(rules, factory);
+		ResolverConfig config = new ResolverConfig();
+		config.setEngine(getEngine());
+		for (Rule rule : rules) {
+			config.addRule(rule);
+		}
+		config.compileRules(executor);
+		return config;
+	}
+
+	protected abstract MatchEngine getEngine();
+
+	/**
+	 * Adds the rules in declared order, with their processor, redirect
+	 * target and reverse template already set.
+	 */
+	protected abstract void addRules(List<Rule> rules, ProcessorFactory factory) throws ProcessorException;
+
+}
@@ -0,0 +1,207 @@
+/**
+ *   RouteTableGenerator
+ *   Copyright(c) 2011 Sergio Gabriel Teves
+ * 
+ *   This file is part of UrlResolver.
+ *
+ *   UrlResolver is free software: you can redistribute it and/or modify
+ *   it under the terms of the GNU General Public License as published by
+ *   the Free Software Foundation, either version 3 of the License, or
+ *   (at your option) any later version.
+ *
+ *   UrlResolver is distributed in the hope that it will be useful,
+ *   but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *   MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *   GNU General Public License for more details.
+ *
+ *   You should have received a copy of the GNU General Public License
+ *   along with UrlResolver. If not, see <http://www.gnu.org/licenses/>.
+ */
+package ar.sgt.resolver.config;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map.Entry;
+
+import ar.sgt.resolver.rule.RedirectTarget;
+import ar.sgt.resolver.rule.ReverseTemplate;
+import ar.sgt.resolver.rule.Rule;
+
+/**
+ * Writes the config as the source of a {@link RouteTable}, to be compiled
+ * with the application.
+ * <pre>
+ * java ar.sgt.resolver.config.RouteTableGenerator urlresolver.xml target/generated-sources [class name]
+ * </pre>
+ * The processor classes are referenced from the generated class, so they
+ * must be in a named package.
+ */
+public final class RouteTableGenerator {
+
+	public static final String DEFAULT_CLASS_NAME = "ar.sgt.resolver.generated.ResolverRoutes";
+
+	/* keeps each generated method far from the bytecode size limit */
+	private static final int RULES_PER_METHOD = 100;
+
+	private RouteTableGenerator() {
+	}
+
+	public static void main(String[] args) throws Exception {
+		if (args.length < 2) {
+			System.err.println("Usage: RouteTableGenerator <config file> <output dir> [class name]");
+			System.exit(1);
+		}
+		String className = args.length > 2 ? args[2] : DEFAULT_CLASS_NAME;
+		ResolverConfig config;
+		InputStream is = new FileInputStream(args[0]);
+		try {
+			config = new ConfigParser().parse(is);
+		} finally {
+			is.close();
+		}
+		File file = new File(args[1], className.replace('.', File.separatorChar) + ".java");
+		if (file.getParentFile() != null) file.getParentFile().mkdirs();
+		Writer out = new OutputStreamWriter(new FileOutputStream(file), "UTF-8");
+		try {
+			generate(config, className, out);
+		} finally {
+			out.close();
+		}
+		System.out.println("Generated " + file);
+	}
+
+	/**
+	 * Writes the source of the class with the rules of the config.
+	 * @param className fully qualified name of the class
+	 */
+	public static void generate(ResolverConfig config, String className, Appendable out) throws IOException {
+		int dot = className.lastIndexOf('.');
+		String simpleName = className.substring(dot + 1);
+		out.append("/* Generated by ").append(RouteTableGenerator.class.getSimpleName()).append(", do not edit. */\n");
+		if (dot > 0) {
+			out.append("package ").append(className.substring(0, dot)).append(";\n");
+		}
+		out.append("\n");
+		out.append("import java.util.List;\n\n");
+		out.append("import ar.sgt.resolver.config.RouteTable;\n");
+		out.append("import ar.sgt.resolver.exception.ProcessorException;\n");
+		out.append("import ar.sgt.resolver.processor.ProcessorFactory;\n");
+		out.append("import ar.sgt.resolver.processor.ProcessorProvider;\n");
+		out.append("import ar.sgt.resolver.processor.ProcessorScope;\n");
+		out.append("import ar.sgt.resolver.rule.MatchEngine;\n");
+		out.append("import ar.sgt.resolver.rule.RedirectTarget;\n");
+		out.append("import ar.sgt.resolver.rule.ReverseTemplate;\n");
+		out.append("import ar.sgt.resolver.rule.Rule;\n\n");
+		out.append("public final class ").append(simpleName).append(" extends RouteTable {\n\n");
+		out.append("\t@Override\n");
+		out.append("\tprotected MatchEngine getEngine() {\n");
+		out.append("\t\treturn MatchEngine.").append(config.rules.getEngine().name()).append(";\n");
+		out.append("\t}\n\n");
+
+		List<Rule> rules = new ArrayList<Rule>(config.rules.rules.values());
+		int methods = (rules.size() + RULES_PER_METHOD - 1) / RULES_PER_METHOD;
+		out.append("\t@Override\n");
+		out.append("\tprotected void addRules(List<Rule> rules, ProcessorFactory factory) throws ProcessorException {\n");
+		for (int m = 0; m < methods; m++) {
+			out.append("\t\taddRules").append(String.valueOf(m)).append("(rules, factory);\n");
+		}
+		out.append("\t}\n");
+		for (int m = 0; m < methods; m++) {
+			out.append("\n\tprivate static void addRules").append(String.valueOf(m)).append("(List<Rule> rules, ProcessorFactory factory) throws ProcessorException {\n");
+			out.append("\t\tRule rule;\n");
+			int end = Math.min(rules.size(), (m + 1) * RULES_PER_METHOD);
+			for (int i = m * RULES_PER_METHOD; i < end; i++) {
+				writeRule(rules.get(i), out);
+			}
+			out.append("\t}\n");
+		}
+		out.append("\n}\n");
+	}
+
+	private static void writeRule(Rule rule, Appendable out) throws IOException {
+		ReverseTemplate template = rule.getReverseTemplate();
+		out.append("\t\trule = Rule.precompiled(").append(literal(rule.getName())).append(", ")
+				.append(literal(rule.getProcessor())).append(", ")
+				.append(literal(rule.getPattern())).append(", ")
+				.append(literal(rule.getRedirect())).append(", ")
+				.append(literal(rule.getPrefix())).append(", ")
+				.append(literal(rule.getSuffix())).append(",\n");
+		out.append("\t\t\t\tReverseTemplate.of(");
+		writeArray(template.getGroupNames(), out);
+		out.append(", ");
+		writeArray(template.getChunks(), out);
+		out.append(", new int[] {");
+		int[] slots = template.getSlots();
+		for (int i = 0; i < slots.length; i++) {
+			if (i > 0) out.append(", ");
+			out.append(String.valueOf(slots[i]));
+		}
+		out.append("}, ").append(literal(template.getPlainUrl())).append("));\n");
+		String scope = "ProcessorScope." + rule.getScope().name();
+		out.append("\t\trule.setScope(").append(scope).append(");\n");
+		out.append("\t\trule.setProcessorProvider(new ProcessorProvider(").append(rule.getProcessor().replace('$', '.'))
+				.append(".class, ").append(scope).append(", factory));\n");
+		RedirectTarget target = rule.getRedirectTarget();
+		if (target != null) {
+			out.append("\t\trule.setRedirectTarget(RedirectTarget.").append(target.isContextRelative() ? "named(" : "literal(")
+					.append(literal(target.getUrl(""))).append("));\n");
+		}
+		for (Entry<String, String> arg : rule.getArguments().entrySet()) {
+			out.append("\t\trule.addArgument(").append(literal(arg.getKey())).append(", ").append(literal(arg.getValue())).append(");\n");
+		}
+		out.append("\t\trules.add(rule);\n");
+	}
+
+	private static void writeArray(String[] values, Appendable out) throws IOException {
+		out.append("new String[] {");
+		for (int i = 0; i < values.length; i++) {
+			if (i > 0) out.append(", ");
+			out.append(literal(values[i]));
+		}
+		out.append("}");
+	}
+
+	/**
+	 * @return the value as a java string literal
+	 */
+	static String literal(String value) {
+		if (value == null) return "null";
+		StringBuilder builder = new StringBuilder(value.length() + 2);
+		builder.append('"');
+		for (int i = 0; i < value.length(); i++) {
+			char ch = value.charAt(i);
+			switch (ch) {
+			case '"':
+				builder.append("\\\"");
+				break;
+			case '\\':
+				builder.append("\\\\");
+				break;
+			case '\n':
+				builder.append("\\n");
+				break;
+			case '\r':
+				builder.append("\\r");
+				break;
+			case '\t':
+				builder.append("\\t");
+				break;
+			default:
+				if (ch < 0x20 || ch > 0x7e) {
+					builder.append(String.format("\\u%04x", (int) ch));
+				} else {
+					builder.append(ch);
+				}
+			}
+		}
+		return builder.append('"').toString();
+	}
+
+}
@@ -0,0 +1,186 @@
+/**
+ *   StaxConfigParser
+ *   Copyright(c) 2011 Sergio Gabriel Teves
+ * 
+ *   This file is part of UrlResolver.
+ *
+ *   UrlResolver is free software: you can redistribute it and/or modify
+ *   it under the terms of the GNU General Public License as published by
+ *   the Free Software Foundation, either version 3 of the License, or
+ *   (at your option) any later version.
+ *
+ *   UrlResolver is distributed in the hope that it will be useful,
+ *   but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *   MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *   GNU General Public License for more details.
+ *
+ *   You should have received a copy of the GNU General Public License
+ *   along with UrlResolver. If not, see <http://www.gnu.org/licenses/>.
+ */
+package ar.sgt.resolver.config;
+
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ExecutorService;
+
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import ar.sgt.resolver.exception.ConfigException;
+import ar.sgt.resolver.processor.ForwardProcessor;
+import ar.sgt.resolver.processor.PermanentRedirectProcessor;
+import ar.sgt.resolver.processor.ProcessorScope;
+import ar.sgt.resolver.rule.MatchEngine;
+import ar.sgt.resolver.rule.Rule;
+
+/**
+ * Reads the config in a single pass, without building a DOM.
+ * The rules are the same, and in the same order, that {@link ConfigParser}
+ * gives: processors first, then forward processors and redirects.
+ */
+public class StaxConfigParser {
+
+	private static final Logger log = LoggerFactory.getLogger(StaxConfigParser.class);
+
+	private ResolverConfig config;
+	private ExecutorService executor;
+
+	public StaxConfigParser() {
+		this(null);
+	}
+
+	/**
+	 * @param executor used to compile the rules, null to compile them in
+	 * the calling thread
+	 */
+	public StaxConfigParser(ExecutorService executor) {
+		this.config = new ResolverConfig();
+		this.executor = executor;
+	}
+
+	/**
+	 * @throws ConfigException if any rule pattern is not valid
+	 */
+	public ResolverConfig parse(InputStream is) throws XMLStreamException, ConfigException {
+		log.debug("Parsing resolver config");
+		XMLStreamReader reader = XMLInputFactory.newInstance().createXMLStreamReader(is);
+		try {
+			parse(reader);
+		} finally {
+			reader.close();
+		}
+		this.config.compileRules(this.executor);
+		this.config.resolveRedirects();
+		return this.config;
+	}
+
+	private void parse(XMLStreamReader reader) throws XMLStreamException {
+		// added after all the processors
+		List<Rule> forwards = new ArrayList<Rule>();
+		List<Rule> redirects = new ArrayList<Rule>();
+
+		int depth = 0;
+		String node = null;
+		int nodeDepth = 0;
+		String controller = null;
+		String redirect = null;
+		ProcessorScope scope = null;
+		Rule rule = null;
+		int ruleDepth = 0;
+
+		while (reader.hasNext()) {
+			int event = reader.next();
+			if (event == XMLStreamConstants.START_ELEMENT) {
+				String name = reader.getLocalName();
+				depth++;
+				if (depth == 1) {
+					String engine = reader.getAttributeValue(null, RuleConstant.ATT_ENGINE);
+					if (engine != null) {
+						try {
+							this.config.setEngine(MatchEngine.valueOf(engine.toUpperCase(Locale.ENGLISH)));
+						} catch (IllegalArgumentException e) {
+							throw new XMLStreamException("Unknown engine " + engine, reader.getLocation());
+						}
+						log.debug("Using {} engine", engine);
+					}
+				} else if (node == null) {
+					if (name.equals(RuleConstant.NODE_PROCESSOR)) {
+						controller = attribute(reader, RuleConstant.ATT_CLASS);
+						redirect = reader.getAttributeValue(null, RuleConstant.ATT_REDIRECT);
+						scope = ProcessorScope.PROTOTYPE;
+						String value = reader.getAttributeValue(null, RuleConstant.ATT_SCOPE);
+						if (value != null) {
+							try {
+								scope = ProcessorScope.valueOf(value.toUpperCase(Locale.ENGLISH));
+							} catch (IllegalArgumentException e) {
+								throw new XMLStreamException("Unknown scope " + value + " for processor " + controller, reader.getLocation());
+							}
+						}
+					} else if (name.equals(RuleConstant.NODE_FORWARDPROCESSOR)) {
+						controller = ForwardProcessor.class.getName();
+						redirect = reader.getAttributeValue(null, RuleConstant.ATT_REDIRECT);
+						scope = ProcessorScope.SINGLETON;
+					} else if (name.equals(RuleConstant.NODE_REDIRECT)) {
+						controller = PermanentRedirectProcessor.class.getName();
+						scope = ProcessorScope.SINGLETON;
+					} else {
+						continue;
+					}
+					node = name;
+					nodeDepth = depth;
+				} else if (rule == null && name.equals(RuleConstant.NODE_RULE)) {
+					if (node.equals(RuleConstant.NODE_REDIRECT)) {
+						rule = new Rule(null, controller, attribute(reader, RuleConstant.ATT_PATTERN),
+								attribute(reader, RuleConstant.ATT_REDIRECT));
+					} else {
+						rule = new Rule(reader.getAttributeValue(null, RuleConstant.ATT_NAME), controller,
+								attribute(reader, RuleConstant.ATT_PATTERN), redirect);
+					}
+					rule.setScope(scope);
+					ruleDepth = depth;
+				} else if (rule != null && name.equals(RuleConstant.NODE_ARG)) {
+					rule.addArgument(attribute(reader, RuleConstant.ATT_NAME), attribute(reader, RuleConstant.ATT_VALUE));
+				}
+			} else if (event == XMLStreamConstants.END_ELEMENT) {
+				if (rule != null && depth == ruleDepth) {
+					if (node.equals(RuleConstant.NODE_PROCESSOR)) {
+						this.config.addRule(rule);
+					} else if (node.equals(RuleConstant.NODE_FORWARDPROCESSOR)) {
+						forwards.add(rule);
+					} else {
+						redirects.add(rule);
+					}
+					rule = null;
+				} else if (node != null && depth == nodeDepth) {
+					node = null;
+				}
+				depth--;
+			}
+		}
+
+		log.debug("Listing {} forward processor rules.", forwards.size());
+		for (Rule forward : forwards) {
+			this.config.addRule(forward);
+		}
+		log.debug("Listing {} redirect rules.", redirects.size());
+		for (Rule redirectRule : redirects) {
+			this.config.addRule(redirectRule);
+		}
+	}
+
+	/**
+	 * @return the attribute value, empty if it is not set (as in DOM)
+	 */
+	private static String attribute(XMLStreamReader reader, String name) {
+		String value = reader.getAttributeValue(null, name);
+		return value != null ? value : "";
+	}
+
+}
@@ -0,0 +1,60 @@
+/**
+ *   ConfigException
+ *   Copyright(c) 2011 Sergio Gabriel Teves
+ * 
+ *   This file is part of UrlResolver.
+ *
+ *   UrlResolver is free software: you can redistribute it and/or modify
+ *   it under the terms of the GNU General Public License as published by
+ *   the Free Software Foundation, either version 3 of the License, or
+ *   (at your option) any later version.
+ *
+ *   UrlResolver is distributed in the hope that it will be useful,
+ *   but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *   MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *   GNU General Public License for more details.
+ *
+ *   You should have received a copy of the GNU General Public License
+ *   along with UrlResolver. If not, see <http://www.gnu.org/licenses/>.
+ */
+package ar.sgt.resolver.exception;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Thrown when the config can't be loaded, with every error found.
+ */
+public class ConfigException extends ResolverException {
+
+	/**
+	 * 
+	 */
+	private static final long serialVersionUID = 2271496830367531290L;
+
+	private final List<String> errors;
+
+	public ConfigException(String m) {
+		super(m);
+		this.errors = Collections.singletonList(m);
+	}
+
+	public ConfigException(List<String> errors) {
+		super(message(errors));
+		this.errors = Collections.unmodifiableList(errors);
+	}
+
+	public List<String> getErrors() {
+		return errors;
+	}
+
+	private static String message(List<String> errors) {
+		StringBuilder builder = new StringBuilder();
+		builder.append(errors.size()).append(errors.size() == 1 ? " error" : " errors").append(" in config");
+		for (String error : errors) {
+			builder.append('\n').append(error);
+		}
+		return builder.toString();
+	}
+
+}
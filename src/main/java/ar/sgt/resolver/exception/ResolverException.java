@@ -1,43 +1,43 @@
-/**
- *   ResolverException
- *   Copyright(c) 2011 Sergio Gabriel Teves
- * 
- *   This file is part of UrlResolver.
- *
- *   UrlResolver is free software: you can redistribute it and/or modify
- *   it under the terms of the GNU General Public License as published by
- *   the Free Software Foundation, either version 3 of the License, or
- *   (at your option) any later version.
- *
- *   UrlResolver is distributed in the hope that it will be useful,
- *   but WITHOUT ANY WARRANTY; without even the implied warranty of
- *   MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
- *   GNU General Public License for more details.
- *
- *   You should have received a copy of the GNU General Public License
- *   along with UrlResolver. If not, see <http://www.gnu.org/licenses/>.
- */
-package ar.sgt.resolver.exception;
-
-import javax.servlet.ServletException;
-
-public class ResolverException extends ServletException {
-
-	/**
-	 * 
-	 */
-	private static final long serialVersionUID = -4148251593822315627L;
-
-    public ResolverException() {
-    	super();
-    }
-    
-	public ResolverException(String m) {
-		super(m);
-	}
-	
-	public ResolverException(Throwable t) {
-		super(t);
-	}
-	
-}
+/**
+ *   ResolverException
+ *   Copyright(c) 2011 Sergio Gabriel Teves
+ * 
+ *   This file is part of UrlResolver.
+ *
+ *   UrlResolver is free software: you can redistribute it and/or modify
+ *   it under the terms of the GNU General Public License as published by
+ *   the Free Software Foundation, either version 3 of the License, or
+ *   (at your option) any later version.
+ *
+ *   UrlResolver is distributed in the hope that it will be useful,
+ *   but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *   MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *   GNU General Public License for more details.
+ *
+ *   You should have received a copy of the GNU General Public License
+ *   along with UrlResolver. If not, see <http://www.gnu.org/licenses/>.
+ */
+package ar.sgt.resolver.exception;
+
+import javax.servlet.ServletException;
+
+public class ResolverException extends ServletException {
+
+	/**
+	 * 
+	 */
+	private static final long serialVersionUID = -4148251593822315627L;
+
+    public ResolverException() {
+    	super();
+    }
+    
+	public ResolverException(String m) {
+		super(m);
+	}
+	
+	public ResolverException(Throwable t) {
+		super(t);
+	}
+	
+}
@@ -0,0 +1,174 @@
+/**
+ *   ExcludePathMatcher
+ *   Copyright(c) 2011 Sergio Gabriel Teves
+ * 
+ *   This file is part of UrlResolver.
+ *
+ *   UrlResolver is free software: you can redistribute it and/or modify
+ *   it under the terms of the GNU General Public License as published by
+ *   the Free Software Foundation, either version 3 of the License, or
+ *   (at your option) any later version.
+ *
+ *   UrlResolver is distributed in the hope that it will be useful,
+ *   but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *   MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *   GNU General Public License for more details.
+ *
+ *   You should have received a copy of the GNU General Public License
+ *   along with UrlResolver. If not, see <http://www.gnu.org/licenses/>.
+ */
+package ar.sgt.resolver.filter;
+
+import java.util.Arrays;
+import java.util.Map.Entry;
+import java.util.TreeMap;
+
+import org.apache.commons.lang.StringUtils;
+
+/**
+ * Matches the paths excluded from the filter.
+ * Accepts a comma separated list of:
+ * <ul>
+ * <li>/static/** : the path and everything under it (the trailing /** is optional)</li>
+ * <li>/static** : any path starting with /static</li>
+ * <li>*.png : any path ending with .png</li>
+ * </ul>
+ * The root path (/ or /**) is not accepted, as it would exclude every request,
+ * and neither is a * anywhere else.
+ * Prefixes and paths are kept in a char trie and suffixes in a reversed one,
+ * so checking a path doesn't allocate.
+ */
+public final class ExcludePathMatcher {
+
+	/* the path or any path under it */
+	private static final int PATH = 1;
+	/* anything starting with the text */
+	private static final int PREFIX = 2;
+	/* anything ending with the text */
+	private static final int SUFFIX = 4;
+
+	private final Node paths;
+	private final Node suffixes;
+
+	private ExcludePathMatcher(Node paths, Node suffixes) {
+		this.paths = paths;
+		this.suffixes = suffixes;
+	}
+
+	/**
+	 * @throws IllegalArgumentException if the root path is excluded or an
+	 * entry is not one of the supported forms
+	 */
+	public static ExcludePathMatcher compile(String excludes) {
+		NodeBuilder paths = new NodeBuilder();
+		NodeBuilder suffixes = new NodeBuilder();
+		for (String exclude : StringUtils.split(excludes, ",")) {
+			exclude = exclude.trim();
+			if (exclude.length() == 0) continue;
+			if (exclude.startsWith("*")) {
+				checkLiteral(exclude, exclude.substring(1));
+				NodeBuilder node = suffixes;
+				for (int i = exclude.length() - 1; i > 0; i--) {
+					node = node.child(exclude.charAt(i));
+				}
+				node.flags |= SUFFIX;
+			} else if (exclude.endsWith("**") && !exclude.endsWith("/**")) {
+				String prefix = exclude.substring(0, exclude.length() - 2);
+				checkLiteral(exclude, prefix);
+				paths.add(prefix).flags |= PREFIX;
+			} else {
+				String path = exclude.endsWith("/**") ? exclude.substring(0, exclude.length() - 3) : exclude;
+				if (path.endsWith("/")) path = path.substring(0, path.length() - 1);
+				if (path.length() == 0) throw new IllegalArgumentException("Invalid exclude path " + exclude + ", it would exclude every request");
+				checkLiteral(exclude, path);
+				paths.add(path).flags |= PATH;
+			}
+		}
+		return new ExcludePathMatcher(paths.build(), suffixes.build());
+	}
+
+	/*
+	 * the text left once the supported wildcard is removed
+	 */
+	private static void checkLiteral(String exclude, String text) {
+		if (text.length() == 0 || text.indexOf('*') >= 0) {
+			throw new IllegalArgumentException("Invalid exclude path " + exclude + ", only *.ext, path** and path/** are supported");
+		}
+	}
+
+	public boolean matches(CharSequence path) {
+		Node node = this.paths;
+		int length = path.length();
+		for (int i = 0; node != null; i++) {
+			if ((node.flags & PREFIX) != 0) return true;
+			if (i == length) {
+				if ((node.flags & PATH) != 0) return true;
+				break;
+			}
+			char ch = path.charAt(i);
+			if (ch == '/' && (node.flags & PATH) != 0) return true;
+			node = node.child(ch);
+		}
+		node = this.suffixes;
+		for (int i = length - 1; i >= 0 && node != null; i--) {
+			node = node.child(path.charAt(i));
+			if (node != null && (node.flags & SUFFIX) != 0) return true;
+		}
+		return false;
+	}
+
+	private static final class Node {
+
+		private final char[] keys;
+		private final Node[] children;
+		private final int flags;
+
+		private Node(char[] keys, Node[] children, int flags) {
+			this.keys = keys;
+			this.children = children;
+			this.flags = flags;
+		}
+
+		private Node child(char ch) {
+			int i = Arrays.binarySearch(this.keys, ch);
+			return i >= 0 ? this.children[i] : null;
+		}
+
+	}
+
+	private static final class NodeBuilder {
+
+		private final TreeMap<Character, NodeBuilder> children = new TreeMap<Character, NodeBuilder>();
+		private int flags;
+
+		private NodeBuilder child(char ch) {
+			NodeBuilder node = this.children.get(ch);
+			if (node == null) {
+				node = new NodeBuilder();
+				this.children.put(ch, node);
+			}
+			return node;
+		}
+
+		private NodeBuilder add(String text) {
+			NodeBuilder node = this;
+			for (int i = 0; i < text.length(); i++) {
+				node = node.child(text.charAt(i));
+			}
+			return node;
+		}
+
+		private Node build() {
+			char[] keys = new char[this.children.size()];
+			Node[] nodes = new Node[this.children.size()];
+			int i = 0;
+			for (Entry<Character, NodeBuilder> entry : this.children.entrySet()) {
+				keys[i] = entry.getKey();
+				nodes[i++] = entry.getValue().build();
+			}
+			return new Node(keys, nodes, this.flags);
+		}
+
+	}
+
+}
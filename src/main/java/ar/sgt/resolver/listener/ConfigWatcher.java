@@ -0,0 +1,53 @@
+/**
+ *   ConfigWatcher
+ *   Copyright(c) 2011 Sergio Gabriel Teves
+ * 
+ *   This file is part of UrlResolver.
+ *
+ *   UrlResolver is free software: you can redistribute it and/or modify
+ *   it under the terms of the GNU General Public License as published by
+ *   the Free Software Foundation, either version 3 of the License, or
+ *   (at your option) any later version.
+ *
+ *   UrlResolver is distributed in the hope that it will be useful,
+ *   but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *   MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *   GNU General Public License for more details.
+ *
+ *   You should have received a copy of the GNU General Public License
+ *   along with UrlResolver. If not, see <http://www.gnu.org/licenses/>.
+ */
+package ar.sgt.resolver.listener;
+
+import java.io.File;
+import java.util.TimerTask;
+
+/**
+ * Polls the config file and reloads the config when it changes.
+ */
+final class ConfigWatcher extends TimerTask {
+
+	private final File file;
+	private final Runnable reload;
+	private long lastModified;
+	private long length;
+
+	ConfigWatcher(File file, Runnable reload) {
+		this.file = file;
+		this.reload = reload;
+		this.lastModified = file.lastModified();
+		this.length = file.length();
+	}
+
+	@Override
+	public void run() {
+		long modified = this.file.lastModified();
+		long size = this.file.length();
+		// missing file or still the same one
+		if (modified == 0L || (modified == this.lastModified && size == this.length)) return;
+		this.lastModified = modified;
+		this.length = size;
+		this.reload.run();
+	}
+
+}
@@ -1,71 +1,294 @@
-/**
- *   ContextLoader
- *   Copyright(c) 2011 Sergio Gabriel Teves
- * 
- *   This file is part of UrlResolver.
- *
- *   UrlResolver is free software: you can redistribute it and/or modify
- *   it under the terms of the GNU General Public License as published by
- *   the Free Software Foundation, either version 3 of the License, or
- *   (at your option) any later version.
- *
- *   UrlResolver is distributed in the hope that it will be useful,
- *   but WITHOUT ANY WARRANTY; without even the implied warranty of
- *   MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
- *   GNU General Public License for more details.
- *
- *   You should have received a copy of the GNU General Public License
- *   along with UrlResolver. If not, see <http://www.gnu.org/licenses/>.
- */
-package ar.sgt.resolver.listener;
-
-
-import javax.servlet.ServletContext;
-
-import org.slf4j.Logger;
-import org.slf4j.LoggerFactory;
-
-import ar.sgt.resolver.config.ConfigParser;
-import ar.sgt.resolver.config.ResolverConfig;
-
-/**
- * @author gabriel
- * 
- */
-public final class ContextLoader {
-
-	private static final Logger log = LoggerFactory.getLogger(ContextLoader.class);
-	
-	public static final String RESOLVER_CONFIG = "RESOLVER_CONFIG";
-	public static final String APPEND_BACKSLASH = "APPEND_BACKSLASH";
-	public static final String CONFIG_LOCATION_PARAM = "resolverConfigLocation";
-	public static final String DEFAULT_WEB_CONF_PATH = "/WEB-INF/urlresolver.xml";
-
-	private ResolverConfig resolverConfig;
-	
-	/**
-	 * @param servletContext
-	 * @throws Exception 
-	 */
-	public void initWebContext(ServletContext servletContext) {
-		String configFile = servletContext.getInitParameter(CONFIG_LOCATION_PARAM) != null ? servletContext.getInitParameter(CONFIG_LOCATION_PARAM) : DEFAULT_WEB_CONF_PATH;
-		log.debug("Loading config from {}", configFile);
-		ConfigParser configParser = new ConfigParser();
-		try {
-			resolverConfig = configParser.parse(servletContext.getResourceAsStream(configFile));
-			log.debug("Config loaded");
-		} catch (Exception e) {
-			log.error(e.getMessage());
-		}
-		servletContext.setAttribute(RESOLVER_CONFIG, resolverConfig);
-		servletContext.setAttribute(APPEND_BACKSLASH, servletContext.getInitParameter(APPEND_BACKSLASH) != null ? Boolean.parseBoolean(servletContext.getInitParameter(APPEND_BACKSLASH)) : true);
-	}
-
-	/**
-	 * @param servletContext
-	 */
-	public void destroyWebContext(ServletContext servletContext) {
-		log.debug("Web context destroyed");
-	}
-
-}
+/**
+ *   ContextLoader
+ *   Copyright(c) 2011 Sergio Gabriel Teves
+ * 
+ *   This file is part of UrlResolver.
+ *
+ *   UrlResolver is free software: you can redistribute it and/or modify
+ *   it under the terms of the GNU General Public License as published by
+ *   the Free Software Foundation, either version 3 of the License, or
+ *   (at your option) any later version.
+ *
+ *   UrlResolver is distributed in the hope that it will be useful,
+ *   but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *   MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *   GNU General Public License for more details.
+ *
+ *   You should have received a copy of the GNU General Public License
+ *   along with UrlResolver. If not, see <http://www.gnu.org/licenses/>.
+ */
+package ar.sgt.resolver.listener;
+
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Iterator;
+import java.util.ServiceLoader;
+import java.util.Timer;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import javax.servlet.ServletContext;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import ar.sgt.resolver.config.ConfigHolder;
+import ar.sgt.resolver.config.ConfigParser;
+import ar.sgt.resolver.config.ConfigSnapshot;
+import ar.sgt.resolver.config.ResolverConfig;
+import ar.sgt.resolver.config.RouteTable;
+import ar.sgt.resolver.config.RouteTableGenerator;
+import ar.sgt.resolver.config.StaxConfigParser;
+import ar.sgt.resolver.exception.ConfigException;
+import ar.sgt.resolver.processor.DefaultProcessorFactory;
+import ar.sgt.resolver.processor.ProcessorFactory;
+
+/**
+ * @author gabriel
+ * 
+ */
+public final class ContextLoader {
+
+	private static final Logger log = LoggerFactory.getLogger(ContextLoader.class);
+	
+	public static final String RESOLVER_CONFIG = "RESOLVER_CONFIG";
+	public static final String RESOLVER_CONFIG_HOLDER = "RESOLVER_CONFIG_HOLDER";
+	public static final String APPEND_BACKSLASH = "APPEND_BACKSLASH";
+	public static final String CONFIG_LOCATION_PARAM = "resolverConfigLocation";
+	public static final String PROCESSOR_FACTORY_PARAM = "resolverProcessorFactory";
+	public static final String CONFIG_PARSER_PARAM = "resolverConfigParser";
+	public static final String SNAPSHOT_LOCATION_PARAM = "resolverSnapshotLocation";
+	public static final String RELOAD_INTERVAL_PARAM = "resolverReloadInterval";
+	public static final String COMPILE_THREADS_PARAM = "resolverCompileThreads";
+	public static final String ROUTE_TABLE_PARAM = "resolverRouteTable";
+	public static final String DEFAULT_WEB_CONF_PATH = "/WEB-INF/urlresolver.xml";
+
+	private ConfigHolder configHolder;
+	private Timer watcher;
+	
+	/**
+	 * @param servletContext
+	 * @throws Exception 
+	 */
+	public void initWebContext(ServletContext servletContext) {
+		String configFile = servletContext.getInitParameter(CONFIG_LOCATION_PARAM) != null ? servletContext.getInitParameter(CONFIG_LOCATION_PARAM) : DEFAULT_WEB_CONF_PATH;
+		log.debug("Loading config from {}", configFile);
+		ResolverConfig resolverConfig = null;
+		RouteTable routeTable = createRouteTable(servletContext);
+		if (routeTable != null) {
+			// built from the xml, processors already resolved
+			ExecutorService executor = null;
+			try {
+				executor = createCompileExecutor(servletContext);
+				resolverConfig = routeTable.load(createProcessorFactory(servletContext), executor);
+				log.debug("Config loaded from {}", routeTable.getClass().getName());
+			} catch (Exception e) {
+				log.error(e.getMessage());
+			} finally {
+				if (executor != null) executor.shutdown();
+			}
+		} else {
+			try {
+				resolverConfig = loadConfig(servletContext, configFile);
+				log.debug("Config loaded");
+			} catch (Exception e) {
+				log.error(e.getMessage());
+			}
+			if (resolverConfig != null) {
+				try {
+					int failed = resolverConfig.loadProcessors(createProcessorFactory(servletContext));
+					if (failed > 0) log.error("{} rules without processor", failed);
+				} catch (Exception e) {
+					log.error("Can't create processor factory: {}", e.getMessage());
+				}
+			}
+		}
+		this.configHolder = new ConfigHolder(resolverConfig);
+		servletContext.setAttribute(RESOLVER_CONFIG_HOLDER, this.configHolder);
+		servletContext.setAttribute(RESOLVER_CONFIG, resolverConfig);
+		servletContext.setAttribute(APPEND_BACKSLASH, servletContext.getInitParameter(APPEND_BACKSLASH) != null ? Boolean.parseBoolean(servletContext.getInitParameter(APPEND_BACKSLASH)) : true);
+		if (servletContext.getInitParameter(RELOAD_INTERVAL_PARAM) != null) {
+			if (routeTable != null) {
+				// a reload would replace the table with the parsed xml
+				log.warn("Config reload is not available with a route table");
+			} else {
+				startWatcher(servletContext, configFile, Long.parseLong(servletContext.getInitParameter(RELOAD_INTERVAL_PARAM)));
+			}
+		}
+	}
+
+	private void startWatcher(final ServletContext servletContext, final String configFile, long interval) {
+		if (interval <= 0) return;
+		String realPath = servletContext.getRealPath(configFile);
+		if (realPath == null) {
+			log.warn("Can't watch {}, config reload disabled", configFile);
+			return;
+		}
+		log.debug("Watching {} every {} seconds", realPath, interval);
+		this.watcher = new Timer("urlresolver-config-watcher", true);
+		this.watcher.schedule(new ConfigWatcher(new File(realPath), new Runnable() {
+			public void run() {
+				reload(servletContext, configFile);
+			}
+		}), interval * 1000L, interval * 1000L);
+	}
+
+	/**
+	 * Parses the config again and publishes it. Requests in progress keep
+	 * the config they started with. The live config is kept when the new
+	 * one fails to load.
+	 */
+	public void reload(ServletContext servletContext, String configFile) {
+		log.debug("Reloading config from {}", configFile);
+		ResolverConfig resolverConfig;
+		try {
+			resolverConfig = loadConfig(servletContext, configFile);
+			int failed = resolverConfig.loadProcessors(createProcessorFactory(servletContext));
+			if (failed > 0) {
+				log.error("Config not reloaded, {} rules without processor", failed);
+				return;
+			}
+		} catch (Exception e) {
+			log.error("Config not reloaded: {}", e.getMessage());
+			return;
+		}
+		this.configHolder.set(resolverConfig);
+		servletContext.setAttribute(RESOLVER_CONFIG, resolverConfig);
+		log.info("Config reloaded from {}", configFile);
+	}
+
+	/**
+	 * Returns the holder of the live config, or a fixed holder when the
+	 * config was set without one.
+	 */
+	public static ConfigHolder getConfigHolder(ServletContext servletContext) {
+		ConfigHolder holder = (ConfigHolder) servletContext.getAttribute(RESOLVER_CONFIG_HOLDER);
+		if (holder != null) return holder;
+		return new ConfigHolder((ResolverConfig) servletContext.getAttribute(RESOLVER_CONFIG));
+	}
+
+	/**
+	 * Uses the snapshot when it was built from the same xml, otherwise
+	 * parses the xml and writes the snapshot.
+	 */
+	private ResolverConfig loadConfig(ServletContext servletContext, String configFile) throws Exception {
+		InputStream is = servletContext.getResourceAsStream(configFile);
+		if (is == null) throw new FileNotFoundException(configFile);
+		ExecutorService executor = createCompileExecutor(servletContext);
+		try {
+			String snapshotLocation = servletContext.getInitParameter(SNAPSHOT_LOCATION_PARAM);
+			if (snapshotLocation == null) return parseConfig(servletContext, is, executor);
+			byte[] xml = readFully(is);
+			byte[] checksum = ConfigSnapshot.checksum(xml);
+			File snapshot = new File(snapshotLocation);
+			try {
+				ResolverConfig config = ConfigSnapshot.read(snapshot, checksum, executor);
+				if (config != null) {
+					log.debug("Config loaded from snapshot {}", snapshot);
+					return config;
+				}
+			} catch (IOException e) {
+				log.warn("Can't read config snapshot: {}", e.getMessage());
+			}
+			ResolverConfig config = parseConfig(servletContext, new ByteArrayInputStream(xml), executor);
+			try {
+				ConfigSnapshot.write(config, checksum, snapshot);
+			} catch (IOException e) {
+				log.warn("Can't write config snapshot: {}", e.getMessage());
+			}
+			return config;
+		} finally {
+			if (executor != null) executor.shutdown();
+		}
+	}
+
+	private ResolverConfig parseConfig(ServletContext servletContext, InputStream is, ExecutorService executor) throws Exception {
+		if ("stax".equalsIgnoreCase(servletContext.getInitParameter(CONFIG_PARSER_PARAM))) {
+			return new StaxConfigParser(executor).parse(is);
+		}
+		return new ConfigParser(executor).parse(is);
+	}
+
+	/**
+	 * @return the pool to compile the rules, or null to compile them in the
+	 * calling thread
+	 * @throws ConfigException if the number of threads is not a positive number
+	 */
+	private ExecutorService createCompileExecutor(ServletContext servletContext) throws ConfigException {
+		String value = servletContext.getInitParameter(COMPILE_THREADS_PARAM);
+		int threads;
+		if (value == null) {
+			threads = Runtime.getRuntime().availableProcessors();
+		} else {
+			try {
+				threads = Integer.parseInt(value.trim());
+			} catch (NumberFormatException e) {
+				threads = 0;
+			}
+			if (threads <= 0) throw new ConfigException("Invalid " + COMPILE_THREADS_PARAM + " " + value + ", expected a positive number");
+		}
+		return threads > 1 ? Executors.newFixedThreadPool(threads) : null;
+	}
+
+	/**
+	 * @return the route table generated from the xml, or null if there is
+	 * none
+	 */
+	private RouteTable createRouteTable(ServletContext servletContext) {
+		String className = servletContext.getInitParameter(ROUTE_TABLE_PARAM) != null ? servletContext.getInitParameter(ROUTE_TABLE_PARAM) : RouteTableGenerator.DEFAULT_CLASS_NAME;
+		try {
+			return (RouteTable) Class.forName(className).newInstance();
+		} catch (ClassNotFoundException e) {
+			if (servletContext.getInitParameter(ROUTE_TABLE_PARAM) != null) log.error("Route table {} not found", className);
+		} catch (Exception e) {
+			log.error("Can't create route table {}: {}", className, e.getMessage());
+		}
+		return null;
+	}
+
+	private static byte[] readFully(InputStream is) throws IOException {
+		try {
+			ByteArrayOutputStream out = new ByteArrayOutputStream();
+			byte[] buffer = new byte[8192];
+			int read;
+			while ((read = is.read(buffer)) != -1) {
+				out.write(buffer, 0, read);
+			}
+			return out.toByteArray();
+		} finally {
+			is.close();
+		}
+	}
+
+	private ProcessorFactory createProcessorFactory(ServletContext servletContext) throws ClassNotFoundException, InstantiationException, IllegalAccessException {
+		String factoryClass = servletContext.getInitParameter(PROCESSOR_FACTORY_PARAM);
+		if (factoryClass != null) {
+			log.debug("Using processor factory {}", factoryClass);
+			return (ProcessorFactory) Class.forName(factoryClass).newInstance();
+		}
+		Iterator<ProcessorFactory> factories = ServiceLoader.load(ProcessorFactory.class).iterator();
+		if (factories.hasNext()) {
+			ProcessorFactory factory = factories.next();
+			log.debug("Using processor factory {}", factory.getClass().getName());
+			return factory;
+		}
+		return new DefaultProcessorFactory();
+	}
+
+	/**
+	 * @param servletContext
+	 */
+	public void destroyWebContext(ServletContext servletContext) {
+		if (this.watcher != null) {
+			this.watcher.cancel();
+			this.watcher = null;
+		}
+		log.debug("Web context destroyed");
+	}
+
+}
@@ -1,74 +1,74 @@
-/**
- *   ResolverListener
- *   Copyright(c) 2011 Sergio Gabriel Teves
- * 
- *   This file is part of UrlResolver.
- *
- *   UrlResolver is free software: you can redistribute it and/or modify
- *   it under the terms of the GNU General Public License as published by
- *   the Free Software Foundation, either version 3 of the License, or
- *   (at your option) any later version.
- *
- *   UrlResolver is distributed in the hope that it will be useful,
- *   but WITHOUT ANY WARRANTY; without even the implied warranty of
- *   MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
- *   GNU General Public License for more details.
- *
- *   You should have received a copy of the GNU General Public License
- *   along with UrlResolver. If not, see <http://www.gnu.org/licenses/>.
- */
-package ar.sgt.resolver.listener;
-
-
-import javax.servlet.ServletContextEvent;
-import javax.servlet.ServletContextListener;
-
-import org.slf4j.Logger;
-import org.slf4j.LoggerFactory;
-
-/**
- * @author gabriel
- * 
- */
-public class ResolverListener implements ServletContextListener {
-
-	private static final Logger log = LoggerFactory.getLogger(ResolverListener.class);
-	
-	private ContextLoader contextLoader = null;
-
-	/*
-	 * (non-Javadoc)
-	 * 
-	 * @see
-	 * javax.servlet.ServletContextListener#contextInitialized(javax.servlet
-	 * .ServletContextEvent)
-	 */
-	public void contextInitialized(ServletContextEvent sce) {
-		log.debug("Initializing context");
-		this.contextLoader = createContextLoader();
-		this.contextLoader.initWebContext(sce.getServletContext());
-		log.debug("Context initialized");
-	}
-
-	/*
-	 * (non-Javadoc)
-	 * 
-	 * @see javax.servlet.ServletContextListener#contextDestroyed(javax.servlet.
-	 * ServletContextEvent)
-	 */
-	public void contextDestroyed(ServletContextEvent sce) {
-		if (this.contextLoader != null) {
-			this.contextLoader.destroyWebContext(sce.getServletContext());
-		}
-		log.debug("Context destroyed");
-	}
-
-	protected ContextLoader createContextLoader() {
-		return new ContextLoader();
-	}
-
-	public ContextLoader getContextLoader() {
-		return contextLoader;
-	}
-
-}
+/**
+ *   ResolverListener
+ *   Copyright(c) 2011 Sergio Gabriel Teves
+ * 
+ *   This file is part of UrlResolver.
+ *
+ *   UrlResolver is free software: you can redistribute it and/or modify
+ *   it under the terms of the GNU General Public License as published by
+ *   the Free Software Foundation, either version 3 of the License, or
+ *   (at your option) any later version.
+ *
+ *   UrlResolver is distributed in the hope that it will be useful,
+ *   but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *   MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *   GNU General Public License for more details.
+ *
+ *   You should have received a copy of the GNU General Public License
+ *   along with UrlResolver. If not, see <http://www.gnu.org/licenses/>.
+ */
+package ar.sgt.resolver.listener;
+
+
+import javax.servlet.ServletContextEvent;
+import javax.servlet.ServletContextListener;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * @author gabriel
+ * 
+ */
+public class ResolverListener implements ServletContextListener {
+
+	private static final Logger log = LoggerFactory.getLogger(ResolverListener.class);
+	
+	private ContextLoader contextLoader = null;
+
+	/*
+	 * (non-Javadoc)
+	 * 
+	 * @see
+	 * javax.servlet.ServletContextListener#contextInitialized(javax.servlet
+	 * .ServletContextEvent)
+	 */
+	public void contextInitialized(ServletContextEvent sce) {
+		log.debug("Initializing context");
+		this.contextLoader = createContextLoader();
+		this.contextLoader.initWebContext(sce.getServletContext());
+		log.debug("Context initialized");
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * 
+	 * @see javax.servlet.ServletContextListener#contextDestroyed(javax.servlet.
+	 * ServletContextEvent)
+	 */
+	public void contextDestroyed(ServletContextEvent sce) {
+		if (this.contextLoader != null) {
+			this.contextLoader.destroyWebContext(sce.getServletContext());
+		}
+		log.debug("Context destroyed");
+	}
+
+	protected ContextLoader createContextLoader() {
+		return new ContextLoader();
+	}
+
+	public ContextLoader getContextLoader() {
+		return contextLoader;
+	}
+
+}
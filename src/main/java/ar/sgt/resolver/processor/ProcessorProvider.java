@@ -0,0 +1,54 @@
+/**
+ *   ProcessorProvider
+ *   Copyright(c) 2011 Sergio Gabriel Teves
+ * 
+ *   This file is part of UrlResolver.
+ *
+ *   UrlResolver is free software: you can redistribute it and/or modify
+ *   it under the terms of the GNU General Public License as published by
+ *   the Free Software Foundation, either version 3 of the License, or
+ *   (at your option) any later version.
+ *
+ *   UrlResolver is distributed in the hope that it will be useful,
+ *   but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *   MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *   GNU General Public License for more details.
+ *
+ *   You should have received a copy of the GNU General Public License
+ *   along with UrlResolver. If not, see <http://www.gnu.org/licenses/>.
+ */
+package ar.sgt.resolver.processor;
+
+import ar.sgt.resolver.exception.ProcessorException;
+
+/**
+ * Gives the processor of a rule, resolved when the config is loaded.
+ */
+public final class ProcessorProvider {
+
+	private final Class<? extends Processor> type;
+	private final ProcessorFactory factory;
+	private final Processor instance;
+
+	/**
+	 * @throws ProcessorException if the scope is singleton and the instance
+	 * can't be created
+	 */
+	public ProcessorProvider(Class<? extends Processor> type, ProcessorScope scope, ProcessorFactory factory) throws ProcessorException {
+		this.type = type;
+		this.factory = factory;
+		this.instance = scope == ProcessorScope.SINGLETON ? factory.newProcessor(type) : null;
+	}
+
+	/**
+	 * @return the shared instance for singleton processors or a new one
+	 */
+	public Processor getProcessor() throws ProcessorException {
+		return this.instance != null ? this.instance : this.factory.newProcessor(this.type);
+	}
+
+	public Class<? extends Processor> getType() {
+		return type;
+	}
+
+}
@@ -0,0 +1,36 @@
+/**
+ *   ProcessorScope
+ *   Copyright(c) 2011 Sergio Gabriel Teves
+ * 
+ *   This file is part of UrlResolver.
+ *
+ *   UrlResolver is free software: you can redistribute it and/or modify
+ *   it under the terms of the GNU General Public License as published by
+ *   the Free Software Foundation, either version 3 of the License, or
+ *   (at your option) any later version.
+ *
+ *   UrlResolver is distributed in the hope that it will be useful,
+ *   but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *   MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *   GNU General Public License for more details.
+ *
+ *   You should have received a copy of the GNU General Public License
+ *   along with UrlResolver. If not, see <http://www.gnu.org/licenses/>.
+ */
+package ar.sgt.resolver.processor;
+
+/**
+ * How the processor instances of a rule are created.
+ */
+public enum ProcessorScope {
+
+	/**
+	 * One instance, created when the config is loaded, serves every request.
+	 */
+	SINGLETON,
+	/**
+	 * A new instance for each request.
+	 */
+	PROTOTYPE
+
+}
@@ -0,0 +1,163 @@
+/**
+ *   CombinedMatcher
+ *   Copyright(c) 2011 Sergio Gabriel Teves
+ * 
+ *   This file is part of UrlResolver.
+ *
+ *   UrlResolver is free software: you can redistribute it and/or modify
+ *   it under the terms of the GNU General Public License as published by
+ *   the Free Software Foundation, either version 3 of the License, or
+ *   (at your option) any later version.
+ *
+ *   UrlResolver is distributed in the hope that it will be useful,
+ *   but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *   MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *   GNU General Public License for more details.
+ *
+ *   You should have received a copy of the GNU General Public License
+ *   along with UrlResolver. If not, see <http://www.gnu.org/licenses/>.
+ */
+package ar.sgt.resolver.rule;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Joins consecutive rules in a single alternation of capturing groups, so
+ * each path is scanned once per group instead of once per rule.
+ * Alternatives are tried in declaration order, so the first group that
+ * captured tells the lowest matching rule. Rules using back references,
+ * lookaround or inline flags are kept apart and matched with their own
+ * regexp, in the same position.
+ */
+final class CombinedMatcher implements RuleTable {
+
+	/*
+	 * Limit the rules joined in one pattern, the matcher allocates the
+	 * groups of the whole pattern on each match.
+	 */
+	private static final int MAX_GROUP_RULES = 64;
+
+	private final RuleTable[] tables;
+	private final int[] first;
+
+	/**
+	 * @param rules all the rules, by declaration order
+	 * @param ordinals the rules to match
+	 */
+	CombinedMatcher(Rule[] rules, int[] ordinals) {
+		List<RuleTable> tables = new ArrayList<RuleTable>();
+		List<Integer> first = new ArrayList<Integer>();
+		List<Integer> pending = new ArrayList<Integer>();
+		for (int ordinal : ordinals) {
+			if (isCombinable(rules[ordinal].getNamedPattern().standardPattern())) {
+				pending.add(ordinal);
+				if (pending.size() == MAX_GROUP_RULES) flush(rules, pending, tables, first);
+			} else {
+				flush(rules, pending, tables, first);
+				tables.add(new Single(rules[ordinal], ordinal));
+				first.add(ordinal);
+			}
+		}
+		flush(rules, pending, tables, first);
+		this.tables = tables.toArray(new RuleTable[tables.size()]);
+		this.first = new int[first.size()];
+		for (int i = 0; i < this.first.length; i++) {
+			this.first[i] = first.get(i);
+		}
+	}
+
+	public RuleMatch match(CharSequence path, int limit) {
+		for (int i = 0; i < this.tables.length && this.first[i] < limit; i++) {
+			RuleMatch match = this.tables[i].match(path, limit);
+			if (match != null) return match;
+		}
+		return null;
+	}
+
+	private static void flush(Rule[] rules, List<Integer> pending, List<RuleTable> tables, List<Integer> first) {
+		if (pending.size() == 1) {
+			tables.add(new Single(rules[pending.get(0)], pending.get(0)));
+		} else if (pending.size() > 1) {
+			tables.add(new Alternation(rules, pending));
+		}
+		if (pending.size() > 0) first.add(pending.get(0));
+		pending.clear();
+	}
+
+	/**
+	 * Check if the pattern can be wrapped in a group and renumbered
+	 */
+	static boolean isCombinable(String pattern) {
+		for (int i = 0; i < pattern.length() - 1; i++) {
+			char ch = pattern.charAt(i);
+			char next = pattern.charAt(i + 1);
+			if (ch == '\\') {
+				// back references, by number or name, and quoted sequences
+				if (Character.isDigit(next) || next == 'k' || next == 'Q') return false;
+				i++;
+			} else if (ch == '(' && next == '?') {
+				// only non capturing groups are allowed
+				if (i + 2 == pattern.length() || pattern.charAt(i + 2) != ':') return false;
+			}
+		}
+		return true;
+	}
+
+	private static final class Single implements RuleTable {
+
+		private final Rule rule;
+		private final int ordinal;
+
+		private Single(Rule rule, int ordinal) {
+			this.rule = rule;
+			this.ordinal = ordinal;
+		}
+
+		public RuleMatch match(CharSequence path, int limit) {
+			return this.ordinal < limit ? this.rule.match(path) : null;
+		}
+
+	}
+
+	private static final class Alternation implements RuleTable {
+
+		private final Pattern pattern;
+		private final Rule[] rules;
+		private final int[] ordinals;
+		private final int[] groups;
+
+		private Alternation(Rule[] all, List<Integer> ordinals) {
+			this.rules = new Rule[ordinals.size()];
+			this.ordinals = new int[ordinals.size()];
+			this.groups = new int[ordinals.size()];
+			StringBuilder builder = new StringBuilder("(?:");
+			int group = 1;
+			for (int i = 0; i < this.rules.length; i++) {
+				this.ordinals[i] = ordinals.get(i);
+				this.rules[i] = all[this.ordinals[i]];
+				if (i > 0) builder.append('|');
+				builder.append('(').append(this.rules[i].getNamedPattern().standardPattern()).append(')');
+				this.groups[i] = group;
+				group += this.rules[i].groupCount() + 1;
+			}
+			builder.append(')');
+			this.pattern = Pattern.compile(builder.toString());
+		}
+
+		public RuleMatch match(CharSequence path, int limit) {
+			Matcher matcher = this.pattern.matcher(path);
+			if (!matcher.matches()) return null;
+			for (int i = 0; i < this.groups.length && this.ordinals[i] < limit; i++) {
+				if (matcher.start(this.groups[i]) >= 0) {
+					return this.rules[i].newMatch(path, matcher, this.groups[i]);
+				}
+			}
+			return null;
+		}
+
+	}
+
+}
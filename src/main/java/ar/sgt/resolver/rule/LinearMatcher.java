@@ -0,0 +1,151 @@
+/**
+ *   LinearMatcher
+ *   Copyright(c) 2011 Sergio Gabriel Teves
+ * 
+ *   This file is part of UrlResolver.
+ *
+ *   UrlResolver is free software: you can redistribute it and/or modify
+ *   it under the terms of the GNU General Public License as published by
+ *   the Free Software Foundation, either version 3 of the License, or
+ *   (at your option) any later version.
+ *
+ *   UrlResolver is distributed in the hope that it will be useful,
+ *   but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *   MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *   GNU General Public License for more details.
+ *
+ *   You should have received a copy of the GNU General Public License
+ *   along with UrlResolver. If not, see <http://www.gnu.org/licenses/>.
+ */
+package ar.sgt.resolver.rule;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import ar.sgt.resolver.rule.SegmentTemplate.CharClass;
+import ar.sgt.resolver.utils.ResolverUtils;
+
+/**
+ * Matcher for a rule whose pattern is literal text and runs of a simple
+ * char class, captured or not (ie: ^/item-($id\d+)\.html$).
+ * The path is checked with straight-line charAt comparisons instead of a
+ * regexp. Only patterns where each run is followed by the end or by a
+ * literal starting with a char out of its class are accepted, so the runs
+ * never need to backtrack and the result is the same as the regexp.
+ */
+final class LinearMatcher implements RuleMatcher {
+
+	private final Rule rule;
+	/* literal before each run, and after the last one */
+	private final String[] literals;
+	private final CharClass[] classes;
+	private final boolean[] optional;
+	private final boolean[] captured;
+	private final int captureCount;
+
+	private LinearMatcher(Rule rule, String[] literals, CharClass[] classes, boolean[] optional, boolean[] captured, int captureCount) {
+		this.rule = rule;
+		this.literals = literals;
+		this.classes = classes;
+		this.optional = optional;
+		this.captured = captured;
+		this.captureCount = captureCount;
+	}
+
+	public RuleMatch match(CharSequence path) {
+		int length = path.length();
+		int[] bounds = new int[this.captureCount * 2];
+		int b = 0;
+		int pos = 0;
+		for (int r = 0; r < this.classes.length; r++) {
+			String literal = this.literals[r];
+			if (!ResolverUtils.regionMatches(path, pos, literal)) return null;
+			pos += literal.length();
+			int start = pos;
+			CharClass charClass = this.classes[r];
+			while (pos < length && charClass.matches(path.charAt(pos))) pos++;
+			if (pos == start && !this.optional[r]) return null;
+			if (this.captured[r]) {
+				bounds[b++] = start;
+				bounds[b++] = pos;
+			}
+		}
+		String last = this.literals[this.classes.length];
+		if (pos + last.length() != length || !ResolverUtils.regionMatches(path, pos, last)) return null;
+		return this.rule.newMatch(path, bounds);
+	}
+
+	/**
+	 * @return the matcher or null if the pattern of the rule is not supported
+	 */
+	static LinearMatcher compile(Rule rule) {
+		String pattern = rule.getNamedPattern().standardPattern();
+		int end = pattern.length();
+		if (end > 0 && pattern.charAt(end - 1) == '$' && !isEscaped(pattern, end - 1)) end--;
+		int i = pattern.startsWith("^") ? 1 : 0;
+		List<String> literals = new ArrayList<String>();
+		List<CharClass> classes = new ArrayList<CharClass>();
+		List<Boolean> optional = new ArrayList<Boolean>();
+		List<Boolean> captured = new ArrayList<Boolean>();
+		StringBuilder literal = new StringBuilder();
+		int[] next = new int[1];
+		while (i < end) {
+			char ch = pattern.charAt(i);
+			boolean group = ch == '(';
+			if (group || ch == '[' || (ch == '\\' && i + 1 < end && Character.isLetterOrDigit(pattern.charAt(i + 1)))) {
+				CharClass charClass = CharClass.parse(pattern, group ? i + 1 : i, next);
+				i = next[0];
+				if (charClass == null || i >= end) return null;
+				char quantifier = pattern.charAt(i++);
+				if (quantifier != '+' && quantifier != '*') return null;
+				if (group && (i >= end || pattern.charAt(i++) != ')')) return null;
+				literals.add(literal.toString());
+				literal.setLength(0);
+				classes.add(charClass);
+				optional.add(quantifier == '*');
+				captured.add(group);
+				continue;
+			}
+			if (ch == '\\') {
+				if (i + 1 >= end) return null;
+				ch = pattern.charAt(i + 1);
+				i += 2;
+			} else if (".[]{}()*+?^$|".indexOf(ch) >= 0) {
+				return null;
+			} else {
+				i++;
+			}
+			if (i < end && "?*+{".indexOf(pattern.charAt(i)) >= 0) return null;
+			literal.append(ch);
+		}
+		literals.add(literal.toString());
+		int captureCount = 0;
+		for (int r = 0; r < classes.size(); r++) {
+			String after = literals.get(r + 1);
+			if (after.length() == 0) {
+				// two runs in a row would need backtracking
+				if (r + 1 < classes.size()) return null;
+			} else if (classes.get(r).matches(after.charAt(0))) {
+				return null;
+			}
+			if (captured.get(r)) captureCount++;
+		}
+		// every group must be a named capture
+		if (captureCount != rule.groupCount() || captureCount != rule.captureCount()) return null;
+		boolean[] optionalArray = new boolean[classes.size()];
+		boolean[] capturedArray = new boolean[classes.size()];
+		for (int r = 0; r < classes.size(); r++) {
+			optionalArray[r] = optional.get(r);
+			capturedArray[r] = captured.get(r);
+		}
+		return new LinearMatcher(rule, literals.toArray(new String[literals.size()]),
+				classes.toArray(new CharClass[classes.size()]), optionalArray, capturedArray, captureCount);
+	}
+
+	private static boolean isEscaped(String pattern, int index) {
+		int count = 0;
+		while (index > 0 && pattern.charAt(--index) == '\\') count++;
+		return count % 2 == 1;
+	}
+
+}
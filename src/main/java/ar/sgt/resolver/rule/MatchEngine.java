@@ -0,0 +1,45 @@
+/**
+ *   MatchEngine
+ *   Copyright(c) 2011 Sergio Gabriel Teves
+ * 
+ *   This file is part of UrlResolver.
+ *
+ *   UrlResolver is free software: you can redistribute it and/or modify
+ *   it under the terms of the GNU General Public License as published by
+ *   the Free Software Foundation, either version 3 of the License, or
+ *   (at your option) any later version.
+ *
+ *   UrlResolver is distributed in the hope that it will be useful,
+ *   but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *   MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *   GNU General Public License for more details.
+ *
+ *   You should have received a copy of the GNU General Public License
+ *   along with UrlResolver. If not, see <http://www.gnu.org/licenses/>.
+ */
+package ar.sgt.resolver.rule;
+
+/**
+ * Available strategies to match a path against a {@link RuleSet}.
+ */
+public enum MatchEngine {
+
+	/**
+	 * Each candidate rule is evaluated with its own regexp (default).
+	 */
+	REGEX,
+
+	/**
+	 * Rules are joined in a single regexp alternation and evaluated at once.
+	 * Rules using constructs that can't be joined are still evaluated alone.
+	 */
+	COMBINED,
+
+	/**
+	 * Rules made of literal text and runs of a simple char class are matched
+	 * by a {@link LinearMatcher}, without a regexp. The rest are evaluated
+	 * as with REGEX.
+	 */
+	SPECIALIZED
+
+}
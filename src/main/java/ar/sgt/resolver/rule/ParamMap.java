@@ -0,0 +1,188 @@
+/**
+ *   ParamMap
+ *   Copyright(c) 2011 Sergio Gabriel Teves
+ * 
+ *   This file is part of UrlResolver.
+ *
+ *   UrlResolver is free software: you can redistribute it and/or modify
+ *   it under the terms of the GNU General Public License as published by
+ *   the Free Software Foundation, either version 3 of the License, or
+ *   (at your option) any later version.
+ *
+ *   UrlResolver is distributed in the hope that it will be useful,
+ *   but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *   MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *   GNU General Public License for more details.
+ *
+ *   You should have received a copy of the GNU General Public License
+ *   along with UrlResolver. If not, see <http://www.gnu.org/licenses/>.
+ */
+package ar.sgt.resolver.rule;
+
+import java.io.UnsupportedEncodingException;
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import ar.sgt.resolver.utils.ResolverUtils;
+
+/**
+ * Params of a match: the captured groups over the rule arguments.
+ * Groups are kept as offsets in the path and decoded on first access.
+ * The map can't be modified.
+ */
+final class ParamMap extends AbstractMap<String, String> {
+
+	private static final Logger log = LoggerFactory.getLogger(ParamMap.class);
+
+	private final Layout layout;
+	private final CharSequence path;
+	private final int[] bounds;
+	private final String[] values;
+
+	/**
+	 * @param path must not change after the match
+	 * @param bounds start and end of each group in the path, -1 if it
+	 * didn't capture
+	 */
+	ParamMap(Layout layout, CharSequence path, int[] bounds) {
+		this.layout = layout;
+		this.path = path;
+		this.bounds = bounds;
+		this.values = new String[layout.groups.length];
+	}
+
+	@Override
+	public String get(Object key) {
+		int index = this.layout.indexOf(key);
+		return index >= 0 ? value(index) : null;
+	}
+
+	@Override
+	public boolean containsKey(Object key) {
+		return this.layout.indexOf(key) >= 0;
+	}
+
+	@Override
+	public int size() {
+		return this.layout.keys.length;
+	}
+
+	@Override
+	public boolean isEmpty() {
+		return this.layout.keys.length == 0;
+	}
+
+	@Override
+	public Set<Entry<String, String>> entrySet() {
+		return new AbstractSet<Entry<String, String>>() {
+
+			@Override
+			public Iterator<Entry<String, String>> iterator() {
+				return new Iterator<Entry<String, String>>() {
+
+					private int index;
+
+					@Override
+					public boolean hasNext() {
+						return this.index < layout.keys.length;
+					}
+
+					@Override
+					public Entry<String, String> next() {
+						if (!hasNext()) throw new NoSuchElementException();
+						int i = this.index++;
+						return new SimpleImmutableEntry<String, String>(layout.keys[i], value(i));
+					}
+
+					@Override
+					public void remove() {
+						throw new UnsupportedOperationException();
+					}
+
+				};
+			}
+
+			@Override
+			public int size() {
+				return layout.keys.length;
+			}
+
+		};
+	}
+
+	private String value(int index) {
+		int[] groups = this.layout.groups;
+		if (index >= groups.length) return this.layout.args[index - groups.length];
+		int group = groups[index];
+		int start = this.bounds[group * 2];
+		if (start < 0) return null;
+		String value = this.values[index];
+		if (value == null) {
+			// racing threads decode the same value
+			try {
+				value = ResolverUtils.decodeUrl(this.path.subSequence(start, this.bounds[group * 2 + 1]).toString());
+			} catch (UnsupportedEncodingException e) {
+				log.error(e.getMessage());
+				return null;
+			}
+			this.values[index] = value;
+		}
+		return value;
+	}
+
+	/**
+	 * Keys of the params of a rule: the group names followed by the
+	 * arguments not hidden by a group. A name used by several groups is
+	 * kept once and takes the last of them, as the map of the groups did.
+	 */
+	static final class Layout {
+
+		private final String[] keys;
+		private final String[] args;
+		/* the group of each name */
+		private final int[] groups;
+
+		Layout(List<String> groupNames, int captures, Map<String, String> arguments) {
+			Map<String, Integer> names = new LinkedHashMap<String, Integer>();
+			for (int i = 0; i < captures; i++) {
+				names.put(groupNames.get(i), i);
+			}
+			int hidden = 0;
+			for (String name : arguments.keySet()) {
+				if (names.containsKey(name)) hidden++;
+			}
+			this.groups = new int[names.size()];
+			this.keys = new String[names.size() + arguments.size() - hidden];
+			this.args = new String[arguments.size() - hidden];
+			int i = 0;
+			for (Entry<String, Integer> name : names.entrySet()) {
+				this.keys[i] = name.getKey();
+				this.groups[i++] = name.getValue();
+			}
+			int a = 0;
+			for (Entry<String, String> arg : arguments.entrySet()) {
+				if (names.containsKey(arg.getKey())) continue;
+				this.keys[i++] = arg.getKey();
+				this.args[a++] = arg.getValue();
+			}
+		}
+
+		private int indexOf(Object key) {
+			for (int i = 0; i < this.keys.length; i++) {
+				if (this.keys[i].equals(key)) return i;
+			}
+			return -1;
+		}
+
+	}
+
+}
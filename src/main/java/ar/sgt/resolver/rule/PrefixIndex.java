@@ -0,0 +1,148 @@
+/**
+ *   PrefixIndex
+ *   Copyright(c) 2011 Sergio Gabriel Teves
+ * 
+ *   This file is part of UrlResolver.
+ *
+ *   UrlResolver is free software: you can redistribute it and/or modify
+ *   it under the terms of the GNU General Public License as published by
+ *   the Free Software Foundation, either version 3 of the License, or
+ *   (at your option) any later version.
+ *
+ *   UrlResolver is distributed in the hope that it will be useful,
+ *   but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *   MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *   GNU General Public License for more details.
+ *
+ *   You should have received a copy of the GNU General Public License
+ *   along with UrlResolver. If not, see <http://www.gnu.org/licenses/>.
+ */
+package ar.sgt.resolver.rule;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map.Entry;
+import java.util.TreeMap;
+
+/**
+ * Char trie over the literal prefix of each rule.
+ * Only the rules whose prefix is a prefix of the path are evaluated, and they
+ * are tried in declaration order so the first matching rule still wins.
+ */
+final class PrefixIndex implements RuleTable {
+
+	private final Rule[] rules;
+	private final RuleMatcher[] matchers;
+	private final Node root;
+	private final int depth;
+
+	/**
+	 * @param rules all the rules, by declaration order
+	 * @param ordinals the rules to index
+	 */
+	PrefixIndex(Rule[] rules, int[] ordinals) {
+		this(rules, rules, ordinals);
+	}
+
+	/**
+	 * @param matchers the matcher of each rule, by declaration order
+	 */
+	PrefixIndex(Rule[] rules, RuleMatcher[] matchers, int[] ordinals) {
+		this.rules = rules;
+		this.matchers = matchers;
+		NodeBuilder builder = new NodeBuilder();
+		int maxLength = 0;
+		for (int i : ordinals) {
+			String prefix = this.rules[i].getPrefix();
+			NodeBuilder node = builder;
+			for (int c = 0; c < prefix.length(); c++) {
+				node = node.child(prefix.charAt(c));
+			}
+			node.rules.add(i);
+			maxLength = Math.max(maxLength, prefix.length());
+		}
+		this.root = builder.build();
+		this.depth = maxLength;
+	}
+
+	public RuleMatch match(CharSequence path, int limit) {
+		// trie nodes along the path holding rules, each list is in declaration order
+		Node[] nodes = new Node[Math.min(path.length(), this.depth) + 1];
+		int count = 0;
+		Node node = this.root;
+		int i = 0;
+		while (node != null) {
+			if (node.rules.length > 0) nodes[count++] = node;
+			if (i == path.length()) break;
+			node = node.child(path.charAt(i++));
+		}
+		// merge the candidate lists by declaration order
+		int[] next = new int[count];
+		while (true) {
+			int selected = -1;
+			int ordinal = Integer.MAX_VALUE;
+			for (int n = 0; n < count; n++) {
+				if (next[n] < nodes[n].rules.length && nodes[n].rules[next[n]] < ordinal) {
+					selected = n;
+					ordinal = nodes[n].rules[next[n]];
+				}
+			}
+			if (selected < 0 || ordinal >= limit) return null;
+			next[selected]++;
+			RuleMatch match = this.matchers[ordinal].match(path);
+			if (match != null) return match;
+		}
+	}
+
+	private static final class Node {
+
+		private final char[] keys;
+		private final Node[] children;
+		private final int[] rules;
+
+		private Node(char[] keys, Node[] children, int[] rules) {
+			this.keys = keys;
+			this.children = children;
+			this.rules = rules;
+		}
+
+		private Node child(char ch) {
+			int i = Arrays.binarySearch(this.keys, ch);
+			return i >= 0 ? this.children[i] : null;
+		}
+
+	}
+
+	private static final class NodeBuilder {
+
+		private final TreeMap<Character, NodeBuilder> children = new TreeMap<Character, NodeBuilder>();
+		private final List<Integer> rules = new ArrayList<Integer>();
+
+		private NodeBuilder child(char ch) {
+			NodeBuilder node = this.children.get(ch);
+			if (node == null) {
+				node = new NodeBuilder();
+				this.children.put(ch, node);
+			}
+			return node;
+		}
+
+		private Node build() {
+			char[] keys = new char[this.children.size()];
+			Node[] nodes = new Node[this.children.size()];
+			int i = 0;
+			for (Entry<Character, NodeBuilder> entry : this.children.entrySet()) {
+				keys[i] = entry.getKey();
+				nodes[i++] = entry.getValue().build();
+			}
+			int[] ordinals = new int[this.rules.size()];
+			for (int r = 0; r < ordinals.length; r++) {
+				ordinals[r] = this.rules.get(r);
+			}
+			return new Node(keys, nodes, ordinals);
+		}
+
+	}
+
+}
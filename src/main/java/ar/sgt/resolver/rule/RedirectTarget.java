@@ -0,0 +1,59 @@
+/**
+ *   RedirectTarget
+ *   Copyright(c) 2011 Sergio Gabriel Teves
+ * 
+ *   This file is part of UrlResolver.
+ *
+ *   UrlResolver is free software: you can redistribute it and/or modify
+ *   it under the terms of the GNU General Public License as published by
+ *   the Free Software Foundation, either version 3 of the License, or
+ *   (at your option) any later version.
+ *
+ *   UrlResolver is distributed in the hope that it will be useful,
+ *   but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *   MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *   GNU General Public License for more details.
+ *
+ *   You should have received a copy of the GNU General Public License
+ *   along with UrlResolver. If not, see <http://www.gnu.org/licenses/>.
+ */
+package ar.sgt.resolver.rule;
+
+/**
+ * Redirect of a rule, resolved when the config is loaded.
+ * It is either a literal url or the url of a named rule, which is relative
+ * to the context path.
+ */
+public final class RedirectTarget {
+
+	private final String url;
+	private final boolean contextRelative;
+
+	private RedirectTarget(String url, boolean contextRelative) {
+		this.url = url;
+		this.contextRelative = contextRelative;
+	}
+
+	/**
+	 * The url is used as is.
+	 */
+	public static RedirectTarget literal(String url) {
+		return new RedirectTarget(url, false);
+	}
+
+	/**
+	 * The reversed url of a named rule, the context path is prepended.
+	 */
+	public static RedirectTarget named(String url) {
+		return new RedirectTarget(url, true);
+	}
+
+	public String getUrl(String contextPath) {
+		return this.contextRelative ? contextPath + this.url : this.url;
+	}
+
+	public boolean isContextRelative() {
+		return contextRelative;
+	}
+
+}
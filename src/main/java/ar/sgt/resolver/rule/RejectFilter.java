@@ -0,0 +1,126 @@
+/**
+ *   RejectFilter
+ *   Copyright(c) 2011 Sergio Gabriel Teves
+ * 
+ *   This file is part of UrlResolver.
+ *
+ *   UrlResolver is free software: you can redistribute it and/or modify
+ *   it under the terms of the GNU General Public License as published by
+ *   the Free Software Foundation, either version 3 of the License, or
+ *   (at your option) any later version.
+ *
+ *   UrlResolver is distributed in the hope that it will be useful,
+ *   but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *   MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *   GNU General Public License for more details.
+ *
+ *   You should have received a copy of the GNU General Public License
+ *   along with UrlResolver. If not, see <http://www.gnu.org/licenses/>.
+ */
+package ar.sgt.resolver.rule;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map.Entry;
+import java.util.Set;
+import java.util.TreeMap;
+
+import ar.sgt.resolver.utils.ResolverUtils;
+
+/**
+ * Tells, without evaluating any regexp, when a path can't match a group of
+ * rules. A path may only match a rule if it starts with its literal prefix,
+ * ends with its literal suffix and is long enough for both. Prefixes are
+ * kept in a char trie, where each node holds the distinct suffix and length
+ * requirements of the rules with that prefix.
+ */
+final class RejectFilter {
+
+	private final Node root;
+
+	/**
+	 * @param rules all the rules, by declaration order
+	 * @param ordinals the rules to check
+	 */
+	RejectFilter(Rule[] rules, int[] ordinals) {
+		NodeBuilder builder = new NodeBuilder();
+		for (int i : ordinals) {
+			Rule rule = rules[i];
+			NodeBuilder node = builder;
+			for (int c = 0; c < rule.getPrefix().length(); c++) {
+				node = node.child(rule.getPrefix().charAt(c));
+			}
+			node.suffixes.add(rule.getSuffix());
+		}
+		this.root = builder.build();
+	}
+
+	/**
+	 * @return false if the path can't match any of the rules
+	 */
+	boolean mayMatch(CharSequence path) {
+		Node node = this.root;
+		int i = 0;
+		while (node != null) {
+			for (String suffix : node.suffixes) {
+				// the prefix and suffix may overlap
+				if (path.length() >= Math.max(i, suffix.length()) && ResolverUtils.regionMatches(path, path.length() - suffix.length(), suffix)) return true;
+			}
+			if (i == path.length()) break;
+			node = node.child(path.charAt(i++));
+		}
+		return false;
+	}
+
+	private static final class Node {
+
+		private final char[] keys;
+		private final Node[] children;
+		private final String[] suffixes;
+
+		private Node(char[] keys, Node[] children, String[] suffixes) {
+			this.keys = keys;
+			this.children = children;
+			this.suffixes = suffixes;
+		}
+
+		private Node child(char ch) {
+			int i = Arrays.binarySearch(this.keys, ch);
+			return i >= 0 ? this.children[i] : null;
+		}
+
+	}
+
+	private static final class NodeBuilder {
+
+		private final TreeMap<Character, NodeBuilder> children = new TreeMap<Character, NodeBuilder>();
+		private final Set<String> suffixes = new LinkedHashSet<String>();
+
+		private NodeBuilder child(char ch) {
+			NodeBuilder node = this.children.get(ch);
+			if (node == null) {
+				node = new NodeBuilder();
+				this.children.put(ch, node);
+			}
+			return node;
+		}
+
+		private Node build() {
+			char[] keys = new char[this.children.size()];
+			Node[] nodes = new Node[this.children.size()];
+			int i = 0;
+			for (Entry<Character, NodeBuilder> entry : this.children.entrySet()) {
+				keys[i] = entry.getKey();
+				nodes[i++] = entry.getValue().build();
+			}
+			List<String> list = new ArrayList<String>(this.suffixes);
+			// an empty suffix accepts any path, no need to check the rest
+			if (this.suffixes.contains("")) list = Arrays.asList("");
+			return new Node(keys, nodes, list.toArray(new String[list.size()]));
+		}
+
+	}
+
+}
@@ -0,0 +1,237 @@
+/**
+ *   ReverseTemplate
+ *   Copyright(c) 2011 Sergio Gabriel Teves
+ * 
+ *   This file is part of UrlResolver.
+ *
+ *   UrlResolver is free software: you can redistribute it and/or modify
+ *   it under the terms of the GNU General Public License as published by
+ *   the Free Software Foundation, either version 3 of the License, or
+ *   (at your option) any later version.
+ *
+ *   UrlResolver is distributed in the hope that it will be useful,
+ *   but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *   MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *   GNU General Public License for more details.
+ *
+ *   You should have received a copy of the GNU General Public License
+ *   along with UrlResolver. If not, see <http://www.gnu.org/licenses/>.
+ */
+package ar.sgt.resolver.rule;
+
+import hurl.build.QueryBuilder;
+
+import java.io.DataOutput;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+
+import ar.sgt.resolver.exception.ReverseException;
+import ar.sgt.resolver.utils.BinaryCodec;
+import ar.sgt.resolver.utils.RegexpHelper;
+import ar.sgt.resolver.utils.ResolverUtils;
+
+import com.google.code.regexp.NamedPattern;
+
+/**
+ * Rule pattern compiled for reverse url resolving: literal chunks with the
+ * named groups in between. Params that are not groups of the pattern are
+ * added as query.
+ */
+public final class ReverseTemplate {
+
+	private final String[] names;
+	private final String[] chunks;
+	/* index in names of the group after each chunk */
+	private final int[] slots;
+	private final int literalLength;
+	/* a name can be used by several groups */
+	private final int distinctNames;
+	/* url when there are no params */
+	private final String plainUrl;
+
+	private ReverseTemplate(String[] names, String[] chunks, int[] slots, String plainUrl) {
+		this.names = names;
+		this.chunks = chunks;
+		this.slots = slots;
+		int length = 0;
+		for (String chunk : chunks) {
+			length += chunk.length();
+		}
+		this.literalLength = length;
+		this.distinctNames = new HashSet<String>(Arrays.asList(names)).size();
+		this.plainUrl = plainUrl;
+	}
+
+	public static ReverseTemplate compile(String pattern) {
+		List<String> groupNames = NamedPattern.compile(pattern).groupNames();
+		String[] names = groupNames.toArray(new String[groupNames.size()]);
+		String url = RegexpHelper.normalize(pattern);
+		List<String> chunks = new ArrayList<String>();
+		List<Integer> slots = new ArrayList<Integer>();
+		StringBuilder chunk = new StringBuilder();
+		int i = 0;
+		while (i < url.length()) {
+			char ch = url.charAt(i++);
+			if (ch != '$') {
+				chunk.append(ch);
+				continue;
+			}
+			// named groups are normalized to $name
+			int end = i;
+			while (end < url.length() && isWordChar(url.charAt(end))) end++;
+			int slot = groupNames.indexOf(url.substring(i, end));
+			if (slot < 0) {
+				chunk.append(ch);
+				continue;
+			}
+			chunks.add(chunk.toString());
+			chunk.setLength(0);
+			slots.add(slot);
+			i = end;
+		}
+		chunks.add(chunk.toString());
+		int[] slotArray = new int[slots.size()];
+		for (int s = 0; s < slotArray.length; s++) {
+			slotArray[s] = slots.get(s);
+		}
+		return new ReverseTemplate(names, chunks.toArray(new String[chunks.size()]), slotArray,
+				RegexpHelper.normalize(pattern, false));
+	}
+
+	void write(DataOutput out) throws IOException {
+		writeStrings(out, this.names);
+		writeStrings(out, this.chunks);
+		for (int slot : this.slots) {
+			out.writeInt(slot);
+		}
+		BinaryCodec.writeString(out, this.plainUrl);
+	}
+
+	static ReverseTemplate read(ByteBuffer in) {
+		String[] names = readStrings(in);
+		String[] chunks = readStrings(in);
+		if (chunks.length == 0) throw new IllegalArgumentException("Invalid reverse template");
+		int[] slots = new int[chunks.length - 1];
+		for (int i = 0; i < slots.length; i++) {
+			slots[i] = in.getInt();
+		}
+		return of(names, chunks, slots, BinaryCodec.readString(in));
+	}
+
+	/**
+	 * Creates a template from the parts of a compiled one, as given by
+	 * {@link #getGroupNames()}, {@link #getChunks()}, {@link #getSlots()}
+	 * and {@link #getPlainUrl()}.
+	 * @throws IllegalArgumentException if the parts don't fit together
+	 */
+	public static ReverseTemplate of(String[] names, String[] chunks, int[] slots, String plainUrl) {
+		if (chunks.length != slots.length + 1 || plainUrl == null) throw new IllegalArgumentException("Invalid reverse template");
+		for (int slot : slots) {
+			if (slot < 0 || slot >= names.length) throw new IllegalArgumentException("Invalid reverse template slot " + slot);
+		}
+		return new ReverseTemplate(names.clone(), chunks.clone(), slots.clone(), plainUrl);
+	}
+
+	public String[] getGroupNames() {
+		return this.names.clone();
+	}
+
+	/**
+	 * @return the literal text before, between and after the groups
+	 */
+	public String[] getChunks() {
+		return this.chunks.clone();
+	}
+
+	/**
+	 * @return the index in the group names of the group after each chunk
+	 */
+	public int[] getSlots() {
+		return this.slots.clone();
+	}
+
+	/**
+	 * @return the url when there are no params
+	 */
+	public String getPlainUrl() {
+		return this.plainUrl;
+	}
+
+	private static void writeStrings(DataOutput out, String[] values) throws IOException {
+		out.writeInt(values.length);
+		for (String value : values) {
+			BinaryCodec.writeString(out, value);
+		}
+	}
+
+	private static String[] readStrings(ByteBuffer in) {
+		int length = in.getInt();
+		if (length < 0 || length > in.remaining()) throw new IllegalArgumentException("Invalid length " + length);
+		String[] values = new String[length];
+		for (int i = 0; i < length; i++) {
+			values[i] = BinaryCodec.readString(in);
+		}
+		return values;
+	}
+
+	private static boolean isWordChar(char ch) {
+		return (ch >= 'a' && ch <= 'z') || (ch >= 'A' && ch <= 'Z') || (ch >= '0' && ch <= '9') || ch == '_';
+	}
+
+	/**
+	 * @throws ReverseException if a group of the pattern has no param
+	 */
+	public String reverse(Map<String, String> params) throws ReverseException {
+		if (params.isEmpty()) return this.plainUrl;
+		StringBuilder url = new StringBuilder(this.literalLength + 16 * this.slots.length);
+		try {
+			reverse("", params, url);
+		} catch (IOException e) {
+			throw new ReverseException(e);
+		}
+		return url.toString();
+	}
+
+	/**
+	 * Writes the prefix followed by the url to out. Every param is checked
+	 * before writing, so nothing is written if one is missing.
+	 * @throws ReverseException if a group of the pattern has no param
+	 */
+	public void reverse(CharSequence prefix, Map<String, String> params, Appendable out) throws ReverseException, IOException {
+		if (params.isEmpty()) {
+			out.append(prefix).append(this.plainUrl);
+			return;
+		}
+		for (String name : this.names) {
+			if (params.get(name) == null) throw new ReverseException("Missing param " + name);
+		}
+		out.append(prefix);
+		for (int i = 0; i < this.slots.length; i++) {
+			out.append(this.chunks[i]);
+			ResolverUtils.encodePathSegment(params.get(this.names[this.slots[i]]), out);
+		}
+		out.append(this.chunks[this.slots.length]);
+		// every group has a param, the rest are added as query
+		if (params.size() > this.distinctNames) {
+			QueryBuilder queryBuilder = QueryBuilder.create();
+			for (Entry<String, String> entry : params.entrySet()) {
+				if (!isGroup(entry.getKey())) queryBuilder.addParam(entry.getKey(), entry.getValue());
+			}
+			out.append('?').append(queryBuilder.toString());
+		}
+	}
+
+	private boolean isGroup(String name) {
+		for (String group : this.names) {
+			if (group.equals(name)) return true;
+		}
+		return false;
+	}
+
+}
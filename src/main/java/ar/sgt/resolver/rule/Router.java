@@ -0,0 +1,100 @@
+/**
+ *   Router
+ *   Copyright(c) 2011 Sergio Gabriel Teves
+ * 
+ *   This file is part of UrlResolver.
+ *
+ *   UrlResolver is free software: you can redistribute it and/or modify
+ *   it under the terms of the GNU General Public License as published by
+ *   the Free Software Foundation, either version 3 of the License, or
+ *   (at your option) any later version.
+ *
+ *   UrlResolver is distributed in the hope that it will be useful,
+ *   but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *   MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *   GNU General Public License for more details.
+ *
+ *   You should have received a copy of the GNU General Public License
+ *   along with UrlResolver. If not, see <http://www.gnu.org/licenses/>.
+ */
+package ar.sgt.resolver.rule;
+
+import java.util.Collection;
+
+/**
+ * Matches a path against all the rules of a {@link RuleSet}.
+ * Rules with a {@link SegmentTemplate} are looked up in a {@link SegmentTree},
+ * the rest are evaluated by the selected {@link MatchEngine}, and the rule
+ * declared first wins.
+ */
+final class Router implements RuleMatcher {
+
+	private final SegmentTree tree;
+	private final RuleTable table;
+	private final RejectFilter reject;
+
+	Router(Collection<Rule> ruleList, MatchEngine engine) {
+		Rule[] rules = ruleList.toArray(new Rule[ruleList.size()]);
+		int templates = 0;
+		for (Rule rule : rules) {
+			// no-op for rules compiled at config load
+			rule.compile();
+			if (rule.getTemplate() != null) templates++;
+		}
+		int[] treeRules = new int[templates];
+		int[] tableRules = new int[rules.length - templates];
+		int t = 0;
+		int r = 0;
+		for (int i = 0; i < rules.length; i++) {
+			if (rules[i].getTemplate() != null) {
+				treeRules[t++] = i;
+			} else {
+				tableRules[r++] = i;
+			}
+		}
+		this.tree = treeRules.length > 0 ? new SegmentTree(rules, treeRules) : null;
+		this.reject = tableRules.length > 0 ? new RejectFilter(rules, tableRules) : null;
+		if (tableRules.length == 0) {
+			this.table = null;
+		} else if (engine == MatchEngine.COMBINED) {
+			this.table = new CombinedMatcher(rules, tableRules);
+		} else if (engine == MatchEngine.SPECIALIZED) {
+			RuleMatcher[] matchers = new RuleMatcher[rules.length];
+			for (int i : tableRules) {
+				LinearMatcher matcher = LinearMatcher.compile(rules[i]);
+				matchers[i] = matcher != null ? matcher : rules[i];
+			}
+			this.table = new PrefixIndex(rules, matchers, tableRules);
+		} else {
+			this.table = new PrefixIndex(rules, tableRules);
+		}
+	}
+
+	public RuleMatch match(CharSequence path) {
+		int[] segments = null;
+		int ordinal = -1;
+		if (this.tree != null) {
+			segments = this.tree.split(path);
+			if (segments != null) ordinal = this.tree.lookup(path, segments, Integer.MAX_VALUE);
+		}
+		if (this.table != null && this.reject.mayMatch(path)) {
+			// only rules declared before the one found in the tree
+			RuleMatch match = this.table.match(path, ordinal >= 0 ? ordinal : Integer.MAX_VALUE);
+			if (match != null) return match;
+		}
+		return ordinal >= 0 ? this.tree.newMatch(ordinal, path, segments) : null;
+	}
+
+	/**
+	 * @return false if the path can't match any rule, checked without
+	 * evaluating any regexp
+	 */
+	boolean mayMatch(CharSequence path) {
+		if (this.tree != null) {
+			int[] segments = this.tree.split(path);
+			if (segments != null && this.tree.lookup(path, segments, Integer.MAX_VALUE) >= 0) return true;
+		}
+		return this.reject != null && this.reject.mayMatch(path);
+	}
+
+}
@@ -1,122 +1,344 @@
-/**
- *   Rule
- *   Copyright(c) 2011 Sergio Gabriel Teves
- * 
- *   This file is part of UrlResolver.
- *
- *   UrlResolver is free software: you can redistribute it and/or modify
- *   it under the terms of the GNU General Public License as published by
- *   the Free Software Foundation, either version 3 of the License, or
- *   (at your option) any later version.
- *
- *   UrlResolver is distributed in the hope that it will be useful,
- *   but WITHOUT ANY WARRANTY; without even the implied warranty of
- *   MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
- *   GNU General Public License for more details.
- *
- *   You should have received a copy of the GNU General Public License
- *   along with UrlResolver. If not, see <http://www.gnu.org/licenses/>.
- */
-package ar.sgt.resolver.rule;
-
-import java.io.UnsupportedEncodingException;
-import java.util.HashMap;
-import java.util.Map;
-import java.util.Map.Entry;
-
-import org.slf4j.Logger;
-import org.slf4j.LoggerFactory;
-
-import ar.sgt.resolver.utils.ResolverUtils;
-
-import com.google.code.regexp.NamedMatcher;
-import com.google.code.regexp.NamedPattern;
-
-/**
- * @author gabriel
- *
- */
-public final class Rule {
-
-	private static final Logger log = LoggerFactory.getLogger(Rule.class);
-	
-	private String processor;
-	private String pattern;
-	private String redirect;
-	private String name;
-	
-	private Map<String, String> args;
-	
-	private NamedMatcher matcher;
-	
-	/**
-	 * @param processor
-	 * @param path
-	 * @param type
-	 */
-	public Rule(String name, String processor, String pattern, String redirect) {
-		this.name = name;
-		this.processor = processor;
-		this.pattern = pattern;
-		this.redirect = redirect;
-		this.args = new HashMap<String, String>();
-	}
-
-	public void addArgument(String name, String value) {
-		args.put(name, value);
-	}
-
-	public boolean match(String path) {
-		NamedPattern p = NamedPattern.compile(this.pattern);
-		this.matcher = p.matcher(path);
-		return this.matcher.matches();
-	}
-
-	public Map<String, String> parseParams() {
-		Map<String, String> map = new HashMap<String, String>();
-		map.putAll(this.args);
-		if (this.matcher == null) return map;
-		for (Entry<String, String> entry : this.matcher.namedGroups().entrySet()) {
-			try {
-				map.put(entry.getKey(), ResolverUtils.decodeUrl(entry.getValue()));
-			} catch (UnsupportedEncodingException e) {
-				log.error(e.getMessage());
-			}
-		}
-		return map;
-	}
-
-	/* (non-Javadoc)
-	 * @see java.lang.Object#toString()
-	 */
-	@Override
-	public String toString() {
-		StringBuilder builder = new StringBuilder("<rule>\n");
-		builder.append("<processor>").append(this.processor).append("</processor>\n");
-		builder.append("<pattern>").append(this.pattern).append("</pattern>\n");
-		if (this.redirect != null) builder.append("<redirect>").append(this.redirect).append("</redirect>\n");
-		builder.append("</rule>\n");
-		return builder.toString();
-	}
-
-	public String getProcessor() {
-		return processor;
-	}
-
-	public String getPattern() {
-		return pattern;
-	}
-
-	public String getRedirect() {
-		return redirect;
-	}
-
-	public String getName() {
-		return name;
-	}	
-	
-	public Map<String, String> getArguments() {
-		return this.args;
-	}
-
-}
+/**
+ *   Rule
+ *   Copyright(c) 2011 Sergio Gabriel Teves
+ * 
+ *   This file is part of UrlResolver.
+ *
+ *   UrlResolver is free software: you can redistribute it and/or modify
+ *   it under the terms of the GNU General Public License as published by
+ *   the Free Software Foundation, either version 3 of the License, or
+ *   (at your option) any later version.
+ *
+ *   UrlResolver is distributed in the hope that it will be useful,
+ *   but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *   MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *   GNU General Public License for more details.
+ *
+ *   You should have received a copy of the GNU General Public License
+ *   along with UrlResolver. If not, see <http://www.gnu.org/licenses/>.
+ */
+package ar.sgt.resolver.rule;
+
+import java.io.DataOutput;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.regex.MatchResult;
+import java.util.regex.PatternSyntaxException;
+
+import ar.sgt.resolver.processor.ProcessorProvider;
+import ar.sgt.resolver.processor.ProcessorScope;
+import ar.sgt.resolver.utils.BinaryCodec;
+import ar.sgt.resolver.utils.RegexpHelper;
+import ar.sgt.resolver.utils.RequestPath;
+
+import com.google.code.regexp.NamedMatcher;
+import com.google.code.regexp.NamedPattern;
+
+/**
+ * @author gabriel
+ *
+ */
+public final class Rule implements RuleMatcher {
+
+	private String processor;
+	private String pattern;
+	private String redirect;
+	private String name;
+	
+	private Map<String, String> args;
+	
+	private ProcessorScope scope = ProcessorScope.PROTOTYPE;
+	private ProcessorProvider processorProvider;
+	private RedirectTarget redirectTarget;
+	private volatile ReverseTemplate reverseTemplate;
+	private volatile ParamMap.Layout paramLayout;
+	
+	/* set by compile() */
+	private NamedPattern namedPattern;
+	private int groupCount;
+	private String prefix;
+	private String suffix;
+	private SegmentTemplate template;
+	
+	/**
+	 * The pattern is not compiled until {@link #compile()} is called, the
+	 * {@link RuleSet} compiles its rules before the first match.
+	 * @param processor
+	 * @param path
+	 * @param type
+	 */
+	public Rule(String name, String processor, String pattern, String redirect) {
+		this(name, processor, pattern, redirect, null, null);
+	}
+
+	private Rule(String name, String processor, String pattern, String redirect, String prefix, String suffix) {
+		this.name = name;
+		this.processor = processor;
+		this.pattern = pattern;
+		this.redirect = redirect;
+		this.args = new HashMap<String, String>();
+		this.prefix = prefix;
+		this.suffix = suffix;
+	}
+
+	/**
+	 * Creates a rule with what was derived from its pattern at build time.
+	 * Used by the classes written by
+	 * {@link ar.sgt.resolver.config.RouteTableGenerator}.
+	 */
+	public static Rule precompiled(String name, String processor, String pattern, String redirect, String prefix, String suffix, ReverseTemplate reverseTemplate) {
+		Rule rule = new Rule(name, processor, pattern, redirect, prefix, suffix);
+		rule.reverseTemplate = reverseTemplate;
+		return rule;
+	}
+
+	/**
+	 * Compiles the pattern and what is derived from it. Does nothing if the
+	 * rule was already compiled.
+	 * @throws PatternSyntaxException if the pattern is not valid
+	 */
+	public synchronized void compile() {
+		if (this.namedPattern != null) return;
+		NamedPattern compiled = NamedPattern.compile(this.pattern);
+		this.groupCount = compiled.matcher("").groupCount();
+		if (this.prefix == null) this.prefix = RegexpHelper.literalPrefix(this.pattern);
+		if (this.suffix == null) this.suffix = RegexpHelper.literalSuffix(this.pattern);
+		SegmentTemplate segments = SegmentTemplate.compile(compiled.standardPattern());
+		// every group must be a named capture
+		if (segments != null && segments.captures().length == this.groupCount
+				&& this.groupCount == compiled.groupNames().size()) {
+			this.template = segments;
+		} else {
+			this.template = null;
+		}
+		this.namedPattern = compiled;
+	}
+
+	public void addArgument(String name, String value) {
+		args.put(name, value);
+		this.paramLayout = null;
+	}
+
+	/**
+	 * Writes the rule with what was derived from its pattern, to be read
+	 * back by {@link #read(ByteBuffer)}.
+	 */
+	public void write(DataOutput out) throws IOException {
+		compile();
+		BinaryCodec.writeString(out, this.name);
+		BinaryCodec.writeString(out, this.processor);
+		BinaryCodec.writeString(out, this.pattern);
+		BinaryCodec.writeString(out, this.redirect);
+		BinaryCodec.writeString(out, this.scope.name());
+		out.writeInt(this.args.size());
+		for (Entry<String, String> arg : this.args.entrySet()) {
+			BinaryCodec.writeString(out, arg.getKey());
+			BinaryCodec.writeString(out, arg.getValue());
+		}
+		BinaryCodec.writeString(out, this.prefix);
+		BinaryCodec.writeString(out, this.suffix);
+		if (this.redirectTarget == null) {
+			out.writeByte(0);
+		} else {
+			out.writeByte(this.redirectTarget.isContextRelative() ? 2 : 1);
+			BinaryCodec.writeString(out, this.redirectTarget.getUrl(""));
+		}
+		getReverseTemplate().write(out);
+	}
+
+	/**
+	 * @throws IllegalArgumentException if the data is not valid
+	 */
+	public static Rule read(ByteBuffer in) {
+		String name = BinaryCodec.readString(in);
+		String processor = BinaryCodec.readString(in);
+		String pattern = BinaryCodec.readString(in);
+		String redirect = BinaryCodec.readString(in);
+		String scopeName = BinaryCodec.readString(in);
+		if (scopeName == null) throw new IllegalArgumentException("Missing processor scope");
+		ProcessorScope scope = ProcessorScope.valueOf(scopeName);
+		int count = in.getInt();
+		if (count < 0 || count > in.remaining()) throw new IllegalArgumentException("Invalid argument count " + count);
+		Map<String, String> args = new HashMap<String, String>();
+		for (int i = 0; i < count; i++) {
+			args.put(BinaryCodec.readString(in), BinaryCodec.readString(in));
+		}
+		String prefix = BinaryCodec.readString(in);
+		String suffix = BinaryCodec.readString(in);
+		if (processor == null || pattern == null || prefix == null || suffix == null) throw new IllegalArgumentException("Incomplete rule");
+		Rule rule = new Rule(name, processor, pattern, redirect, prefix, suffix);
+		rule.args.putAll(args);
+		rule.scope = scope;
+		byte target = in.get();
+		if (target == 1) {
+			rule.redirectTarget = RedirectTarget.literal(BinaryCodec.readString(in));
+		} else if (target == 2) {
+			rule.redirectTarget = RedirectTarget.named(BinaryCodec.readString(in));
+		} else if (target != 0) {
+			throw new IllegalArgumentException("Invalid redirect target " + target);
+		}
+		rule.reverseTemplate = ReverseTemplate.read(in);
+		return rule;
+	}
+
+	/**
+	 * Match the path against this rule.
+	 * @return the match with the rule params, or null if the path does not match
+	 */
+	public RuleMatch match(CharSequence path) {
+		NamedMatcher matcher = this.namedPattern.matcher(path);
+		if (!matcher.matches()) return null;
+		return newMatch(path, matcher, 0);
+	}
+
+	/**
+	 * Creates the match for this rule taking the groups after groupOffset.
+	 * Used when the rule pattern was evaluated as part of a larger one.
+	 */
+	RuleMatch newMatch(CharSequence path, MatchResult result, int groupOffset) {
+		int[] bounds = new int[captureCount() * 2];
+		for (int i = 0; i < bounds.length; i += 2) {
+			int group = groupOffset + i / 2 + 1;
+			bounds[i] = result.start(group);
+			bounds[i + 1] = result.end(group);
+		}
+		return newMatch(path, bounds);
+	}
+
+	/**
+	 * Creates the match for this rule.
+	 * @param bounds start and end of each named group in the path, -1 if it
+	 * didn't capture
+	 */
+	RuleMatch newMatch(CharSequence path, int[] bounds) {
+		// values are decoded later, the path must not change
+		if (!(path instanceof String || path instanceof RequestPath)) path = path.toString();
+		return new RuleMatch(this, new ParamMap(getParamLayout(), path, bounds));
+	}
+
+	private ParamMap.Layout getParamLayout() {
+		ParamMap.Layout current = this.paramLayout;
+		if (current == null) {
+			current = new ParamMap.Layout(this.namedPattern.groupNames(), captureCount(), this.args);
+			this.paramLayout = current;
+		}
+		return current;
+	}
+
+	/* (non-Javadoc)
+	 * @see java.lang.Object#toString()
+	 */
+	@Override
+	public String toString() {
+		StringBuilder builder = new StringBuilder("<rule>\n");
+		builder.append("<processor>").append(this.processor).append("</processor>\n");
+		builder.append("<pattern>").append(this.pattern).append("</pattern>\n");
+		if (this.redirect != null) builder.append("<redirect>").append(this.redirect).append("</redirect>\n");
+		builder.append("</rule>\n");
+		return builder.toString();
+	}
+
+	public String getProcessor() {
+		return processor;
+	}
+
+	public ProcessorScope getScope() {
+		return scope;
+	}
+
+	public void setScope(ProcessorScope scope) {
+		this.scope = scope;
+	}
+
+	/**
+	 * @return the processor resolved at config load, or null if it was not
+	 * loaded
+	 */
+	public ProcessorProvider getProcessorProvider() {
+		return processorProvider;
+	}
+
+	public void setProcessorProvider(ProcessorProvider processorProvider) {
+		this.processorProvider = processorProvider;
+	}
+
+	public String getPattern() {
+		return pattern;
+	}
+
+	public String getRedirect() {
+		return redirect;
+	}
+
+	/**
+	 * @return the resolved redirect, or null if the rule has no redirect
+	 */
+	public RedirectTarget getRedirectTarget() {
+		return redirectTarget;
+	}
+
+	public void setRedirectTarget(RedirectTarget redirectTarget) {
+		this.redirectTarget = redirectTarget;
+	}
+
+	/**
+	 * @return the pattern compiled for reverse resolving, built on first use
+	 */
+	public ReverseTemplate getReverseTemplate() {
+		ReverseTemplate current = this.reverseTemplate;
+		if (current == null) {
+			current = ReverseTemplate.compile(this.pattern);
+			this.reverseTemplate = current;
+		}
+		return current;
+	}
+
+	public String getName() {
+		return name;
+	}	
+	
+	/**
+	 * Literal text every path matched by this rule starts with.
+	 */
+	public String getPrefix() {
+		return prefix;
+	}
+	
+	/**
+	 * Literal text every path matched by this rule ends with.
+	 */
+	public String getSuffix() {
+		return suffix;
+	}
+	
+	NamedPattern getNamedPattern() {
+		return namedPattern;
+	}
+
+	int groupCount() {
+		return groupCount;
+	}
+
+	/**
+	 * Number of groups with a name
+	 */
+	int captureCount() {
+		return Math.min(this.namedPattern.groupNames().size(), this.groupCount);
+	}
+
+	/**
+	 * @return the pattern as segments, or null if it can't be expressed as a
+	 * {@link SegmentTemplate}
+	 */
+	SegmentTemplate getTemplate() {
+		return template;
+	}
+
+	public Map<String, String> getArguments() {
+		return this.args;
+	}
+
+}
@@ -0,0 +1,51 @@
+/**
+ *   RuleMatch
+ *   Copyright(c) 2011 Sergio Gabriel Teves
+ * 
+ *   This file is part of UrlResolver.
+ *
+ *   UrlResolver is free software: you can redistribute it and/or modify
+ *   it under the terms of the GNU General Public License as published by
+ *   the Free Software Foundation, either version 3 of the License, or
+ *   (at your option) any later version.
+ *
+ *   UrlResolver is distributed in the hope that it will be useful,
+ *   but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *   MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *   GNU General Public License for more details.
+ *
+ *   You should have received a copy of the GNU General Public License
+ *   along with UrlResolver. If not, see <http://www.gnu.org/licenses/>.
+ */
+package ar.sgt.resolver.rule;
+
+import java.util.Map;
+
+/**
+ * Result of matching a path against a {@link Rule}.
+ * Every call to {@link Rule#match(CharSequence)} creates a new instance, so the
+ * captured values are never shared between concurrent requests.
+ */
+public final class RuleMatch {
+
+	private final Rule rule;
+	private final Map<String, String> params;
+
+	RuleMatch(Rule rule, Map<String, String> params) {
+		this.rule = rule;
+		this.params = params;
+	}
+
+	public Rule getRule() {
+		return rule;
+	}
+
+	/**
+	 * Rule arguments plus the decoded named groups captured from the path.
+	 * Groups are decoded when they are read. The map can't be modified.
+	 */
+	public Map<String, String> getParams() {
+		return params;
+	}
+
+}
@@ -0,0 +1,249 @@
+/**
+ *   SegmentTemplate
+ *   Copyright(c) 2011 Sergio Gabriel Teves
+ * 
+ *   This file is part of UrlResolver.
+ *
+ *   UrlResolver is free software: you can redistribute it and/or modify
+ *   it under the terms of the GNU General Public License as published by
+ *   the Free Software Foundation, either version 3 of the License, or
+ *   (at your option) any later version.
+ *
+ *   UrlResolver is distributed in the hope that it will be useful,
+ *   but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *   MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *   GNU General Public License for more details.
+ *
+ *   You should have received a copy of the GNU General Public License
+ *   along with UrlResolver. If not, see <http://www.gnu.org/licenses/>.
+ */
+package ar.sgt.resolver.rule;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * A pattern made only of whole path segments, each one either a literal
+ * text or a capture of one or more chars of a class without '/'
+ * (ie: ^/detail/($key[\w]+)/$).
+ * Such patterns can be matched segment by segment without a regexp.
+ */
+final class SegmentTemplate {
+
+	private final String[] literals;
+	private final CharClass[] classes;
+	private final int[] captures;
+
+	private SegmentTemplate(String[] literals, CharClass[] classes) {
+		this.literals = literals;
+		this.classes = classes;
+		int count = 0;
+		for (CharClass c : classes) {
+			if (c != null) count++;
+		}
+		this.captures = new int[count];
+		count = 0;
+		for (int i = 0; i < classes.length; i++) {
+			if (classes[i] != null) this.captures[count++] = i;
+		}
+	}
+
+	int size() {
+		return literals.length;
+	}
+
+	/**
+	 * @return the literal text of the segment, or null if it is a capture
+	 */
+	String literal(int segment) {
+		return literals[segment];
+	}
+
+	CharClass charClass(int segment) {
+		return classes[segment];
+	}
+
+	/**
+	 * @return the index of the segments captured, in group order
+	 */
+	int[] captures() {
+		return captures;
+	}
+
+	/**
+	 * Parse a standard (without group names) regexp.
+	 * @return the template or null if the pattern is not a segment template
+	 */
+	static SegmentTemplate compile(String pattern) {
+		int end = pattern.length();
+		if (end > 0 && pattern.charAt(end - 1) == '$' && !isEscaped(pattern, end - 1)) end--;
+		int i = pattern.startsWith("^") ? 1 : 0;
+		List<String> literals = new ArrayList<String>();
+		List<CharClass> classes = new ArrayList<CharClass>();
+		StringBuilder literal = new StringBuilder();
+		CharClass capture = null;
+		while (i < end) {
+			char ch = pattern.charAt(i);
+			if (ch == '/') {
+				addSegment(literals, classes, literal, capture);
+				capture = null;
+				i++;
+				continue;
+			}
+			if (capture != null) return null; // the capture must take the whole segment
+			if (ch == '(') {
+				if (literal.length() > 0) return null;
+				int[] next = new int[1];
+				capture = CharClass.parse(pattern, i + 1, next);
+				i = next[0];
+				// one or more chars of the class
+				if (capture == null || i + 1 >= end || pattern.charAt(i) != '+' || pattern.charAt(i + 1) != ')') return null;
+				i += 2;
+				continue;
+			}
+			if (ch == '\\') {
+				if (i + 1 >= end) return null;
+				ch = pattern.charAt(i + 1);
+				if (Character.isLetterOrDigit(ch)) return null;
+				i += 2;
+				if (ch == '/') {
+					addSegment(literals, classes, literal, capture);
+					continue;
+				}
+			} else if (".[]{}()*+?^$|".indexOf(ch) >= 0) {
+				return null;
+			} else {
+				i++;
+			}
+			if (i < end && "?*+{".indexOf(pattern.charAt(i)) >= 0) return null;
+			literal.append(ch);
+		}
+		addSegment(literals, classes, literal, capture);
+		return new SegmentTemplate(literals.toArray(new String[literals.size()]),
+				classes.toArray(new CharClass[classes.size()]));
+	}
+
+	private static void addSegment(List<String> literals, List<CharClass> classes, StringBuilder literal, CharClass capture) {
+		literals.add(capture == null ? literal.toString() : null);
+		classes.add(capture);
+		literal.setLength(0);
+	}
+
+	private static boolean isEscaped(String pattern, int index) {
+		int count = 0;
+		while (index > 0 && pattern.charAt(--index) == '\\') count++;
+		return count % 2 == 1;
+	}
+
+	/**
+	 * Simple regexp char class, as a lookup table for ASCII chars.
+	 */
+	static final class CharClass {
+
+		private final boolean[] ascii;
+		private final boolean other;
+
+		private CharClass(boolean[] ascii, boolean other) {
+			this.ascii = ascii;
+			this.other = other;
+		}
+
+		boolean matches(char ch) {
+			return ch < 128 ? ascii[ch] : other;
+		}
+
+		/**
+		 * @return true if all the chars between start and end belong to the class
+		 */
+		boolean matches(CharSequence s, int start, int end) {
+			if (start == end) return false;
+			for (int i = start; i < end; i++) {
+				if (!matches(s.charAt(i))) return false;
+			}
+			return true;
+		}
+
+		@Override
+		public boolean equals(Object obj) {
+			if (!(obj instanceof CharClass)) return false;
+			CharClass c = (CharClass) obj;
+			return other == c.other && Arrays.equals(ascii, c.ascii);
+		}
+
+		@Override
+		public int hashCode() {
+			return Arrays.hashCode(ascii) * 31 + (other ? 1 : 0);
+		}
+
+		/**
+		 * Parse \w, \d or a bracket expression made of those, ranges and
+		 * single ASCII chars. Classes matching '/' are not accepted.
+		 * @param next returns the index after the class
+		 * @return the class or null if it is not supported
+		 */
+		static CharClass parse(String pattern, int start, int[] next) {
+			boolean[] table = new boolean[128];
+			int i = start;
+			if (i + 1 < pattern.length() && pattern.charAt(i) == '\\') {
+				if (!addEscape(table, pattern.charAt(i + 1))) return null;
+				next[0] = i + 2;
+				return new CharClass(table, false);
+			}
+			if (i >= pattern.length() || pattern.charAt(i) != '[') return null;
+			i++;
+			boolean negated = i < pattern.length() && pattern.charAt(i) == '^';
+			if (negated) i++;
+			int first = i;
+			while (true) {
+				if (i >= pattern.length()) return null;
+				char ch = pattern.charAt(i);
+				if (ch == ']') {
+					if (i == first) return null;
+					break;
+				}
+				if (ch == '[' || ch == '&' || ch >= 128) return null;
+				if (ch == '\\') {
+					if (i + 1 >= pattern.length()) return null;
+					char escaped = pattern.charAt(i + 1);
+					if (Character.isLetterOrDigit(escaped)) {
+						if (!addEscape(table, escaped)) return null;
+					} else if (escaped < 128) {
+						table[escaped] = true;
+					} else {
+						return null;
+					}
+					i += 2;
+				} else if (i + 2 < pattern.length() && pattern.charAt(i + 1) == '-' && pattern.charAt(i + 2) != ']') {
+					char to = pattern.charAt(i + 2);
+					if (to == '\\' || to == '[' || to >= 128 || to < ch) return null;
+					for (char c = ch; c <= to; c++) table[c] = true;
+					i += 3;
+				} else {
+					table[ch] = true;
+					i++;
+				}
+			}
+			next[0] = i + 1;
+			if (negated) {
+				for (int c = 0; c < table.length; c++) table[c] = !table[c];
+			}
+			if (table['/']) return null;
+			return new CharClass(table, negated);
+		}
+
+		private static boolean addEscape(boolean[] table, char escape) {
+			if (escape != 'w' && escape != 'd') return false;
+			if (escape == 'w') {
+				for (char c = 'a'; c <= 'z'; c++) table[c] = true;
+				for (char c = 'A'; c <= 'Z'; c++) table[c] = true;
+				table['_'] = true;
+			}
+			// \w includes the digits
+			for (char c = '0'; c <= '9'; c++) table[c] = true;
+			return true;
+		}
+
+	}
+
+}
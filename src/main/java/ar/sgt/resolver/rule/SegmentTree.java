@@ -0,0 +1,222 @@
+/**
+ *   SegmentTree
+ *   Copyright(c) 2011 Sergio Gabriel Teves
+ * 
+ *   This file is part of UrlResolver.
+ *
+ *   UrlResolver is free software: you can redistribute it and/or modify
+ *   it under the terms of the GNU General Public License as published by
+ *   the Free Software Foundation, either version 3 of the License, or
+ *   (at your option) any later version.
+ *
+ *   UrlResolver is distributed in the hope that it will be useful,
+ *   but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *   MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *   GNU General Public License for more details.
+ *
+ *   You should have received a copy of the GNU General Public License
+ *   along with UrlResolver. If not, see <http://www.gnu.org/licenses/>.
+ */
+package ar.sgt.resolver.rule;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+
+import ar.sgt.resolver.rule.SegmentTemplate.CharClass;
+import ar.sgt.resolver.utils.ResolverUtils;
+
+/**
+ * Radix tree over the '/' separated segments of {@link SegmentTemplate} rules.
+ * Literal segments are a table lookup and captured segments a char class
+ * check, so the cost of a lookup depends on the path depth instead of the
+ * number of rules.
+ */
+final class SegmentTree {
+
+	private final Rule[] rules;
+	private final Node root;
+	private final int maxSegments;
+
+	/**
+	 * @param rules all the rules, by declaration order
+	 * @param ordinals the rules to add, all of them with a template
+	 */
+	SegmentTree(Rule[] rules, int[] ordinals) {
+		this.rules = rules;
+		NodeBuilder builder = new NodeBuilder();
+		int max = 0;
+		for (int ordinal : ordinals) {
+			SegmentTemplate template = rules[ordinal].getTemplate();
+			NodeBuilder node = builder;
+			for (int i = 0; i < template.size(); i++) {
+				node = template.literal(i) != null ? node.literal(template.literal(i)) : node.capture(template.charClass(i));
+			}
+			node.ordinal = Math.min(node.ordinal, ordinal);
+			max = Math.max(max, template.size());
+		}
+		this.root = builder.build();
+		this.maxSegments = max;
+	}
+
+	/**
+	 * @return start and end of each path segment, or null if the path has
+	 * more segments than any rule
+	 */
+	int[] split(CharSequence path) {
+		int count = 1;
+		for (int i = 0; i < path.length(); i++) {
+			if (path.charAt(i) == '/' && ++count > this.maxSegments) return null;
+		}
+		int[] segments = new int[count * 2];
+		int start = 0;
+		int s = 0;
+		for (int i = 0; i < path.length(); i++) {
+			if (path.charAt(i) == '/') {
+				segments[s++] = start;
+				segments[s++] = i;
+				start = i + 1;
+			}
+		}
+		segments[s++] = start;
+		segments[s] = path.length();
+		return segments;
+	}
+
+	/**
+	 * @return the declaration order of the first matching rule declared
+	 * before limit, or -1
+	 */
+	int lookup(CharSequence path, int[] segments, int limit) {
+		int best = search(this.root, path, segments, 0, limit);
+		return best < limit ? best : -1;
+	}
+
+	RuleMatch newMatch(int ordinal, CharSequence path, int[] segments) {
+		Rule rule = this.rules[ordinal];
+		int[] captures = rule.getTemplate().captures();
+		int[] bounds = new int[captures.length * 2];
+		for (int i = 0; i < captures.length; i++) {
+			bounds[i * 2] = segments[captures[i] * 2];
+			bounds[i * 2 + 1] = segments[captures[i] * 2 + 1];
+		}
+		return rule.newMatch(path, bounds);
+	}
+
+	private static int search(Node node, CharSequence path, int[] segments, int segment, int best) {
+		if (node.minOrdinal >= best) return best;
+		if (segment * 2 == segments.length) return Math.min(node.ordinal, best);
+		int start = segments[segment * 2];
+		int end = segments[segment * 2 + 1];
+		Node child = node.literal(path, start, end);
+		if (child != null) best = search(child, path, segments, segment + 1, best);
+		for (int i = 0; i < node.classes.length; i++) {
+			if (node.classes[i].matches(path, start, end)) {
+				best = search(node.captures[i], path, segments, segment + 1, best);
+			}
+		}
+		return best;
+	}
+
+	private static final class Node {
+
+		/* open addressing table of literal segments */
+		private final String[] keys;
+		private final Node[] literals;
+		private final CharClass[] classes;
+		private final Node[] captures;
+		/* rule ending at this node */
+		private final int ordinal;
+		/* lowest rule ending in this subtree */
+		private final int minOrdinal;
+
+		private Node(String[] keys, Node[] literals, CharClass[] classes, Node[] captures, int ordinal) {
+			this.keys = keys;
+			this.literals = literals;
+			this.classes = classes;
+			this.captures = captures;
+			this.ordinal = ordinal;
+			int min = ordinal;
+			for (Node node : literals) {
+				if (node != null) min = Math.min(min, node.minOrdinal);
+			}
+			for (Node node : captures) {
+				min = Math.min(min, node.minOrdinal);
+			}
+			this.minOrdinal = min;
+		}
+
+		private Node literal(CharSequence path, int start, int end) {
+			if (this.keys.length == 0) return null;
+			int mask = this.keys.length - 1;
+			for (int i = hash(path, start, end) & mask; this.keys[i] != null; i = (i + 1) & mask) {
+				String key = this.keys[i];
+				if (key.length() == end - start && ResolverUtils.regionMatches(path, start, key)) {
+					return this.literals[i];
+				}
+			}
+			return null;
+		}
+
+	}
+
+	private static int hash(CharSequence s, int start, int end) {
+		int h = 0;
+		for (int i = start; i < end; i++) {
+			h = 31 * h + s.charAt(i);
+		}
+		return h ^ (h >>> 16);
+	}
+
+	private static final class NodeBuilder {
+
+		private final Map<String, NodeBuilder> literals = new LinkedHashMap<String, NodeBuilder>();
+		private final Map<CharClass, NodeBuilder> captures = new LinkedHashMap<CharClass, NodeBuilder>();
+		private int ordinal = Integer.MAX_VALUE;
+
+		private NodeBuilder literal(String segment) {
+			NodeBuilder node = this.literals.get(segment);
+			if (node == null) {
+				node = new NodeBuilder();
+				this.literals.put(segment, node);
+			}
+			return node;
+		}
+
+		private NodeBuilder capture(CharClass charClass) {
+			NodeBuilder node = this.captures.get(charClass);
+			if (node == null) {
+				node = new NodeBuilder();
+				this.captures.put(charClass, node);
+			}
+			return node;
+		}
+
+		private Node build() {
+			int size = 0;
+			if (this.literals.size() > 0) {
+				size = 2;
+				while (size < this.literals.size() * 2) size <<= 1;
+			}
+			String[] keys = new String[size];
+			Node[] literalNodes = new Node[size];
+			for (Entry<String, NodeBuilder> entry : this.literals.entrySet()) {
+				String key = entry.getKey();
+				int i = hash(key, 0, key.length()) & (size - 1);
+				while (keys[i] != null) i = (i + 1) & (size - 1);
+				keys[i] = key;
+				literalNodes[i] = entry.getValue().build();
+			}
+			List<CharClass> classes = new ArrayList<CharClass>(this.captures.keySet());
+			Node[] captureNodes = new Node[classes.size()];
+			for (int i = 0; i < captureNodes.length; i++) {
+				captureNodes[i] = this.captures.get(classes.get(i)).build();
+			}
+			return new Node(keys, literalNodes, classes.toArray(new CharClass[classes.size()]), captureNodes, this.ordinal);
+		}
+
+	}
+
+}
@@ -0,0 +1,63 @@
+/**
+ *   BinaryCodec
+ *   Copyright(c) 2011 Sergio Gabriel Teves
+ * 
+ *   This file is part of UrlResolver.
+ *
+ *   UrlResolver is free software: you can redistribute it and/or modify
+ *   it under the terms of the GNU General Public License as published by
+ *   the Free Software Foundation, either version 3 of the License, or
+ *   (at your option) any later version.
+ *
+ *   UrlResolver is distributed in the hope that it will be useful,
+ *   but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *   MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *   GNU General Public License for more details.
+ *
+ *   You should have received a copy of the GNU General Public License
+ *   along with UrlResolver. If not, see <http://www.gnu.org/licenses/>.
+ */
+package ar.sgt.resolver.utils;
+
+import java.io.DataOutput;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.Charset;
+
+/**
+ * Strings in the binary config snapshot: the length of the UTF-8 bytes,
+ * -1 for null, followed by the bytes.
+ */
+public final class BinaryCodec {
+
+	private static final Charset UTF8 = Charset.forName("UTF-8");
+
+	private BinaryCodec() {
+	}
+
+	public static void writeString(DataOutput out, String value) throws IOException {
+		if (value == null) {
+			out.writeInt(-1);
+			return;
+		}
+		byte[] bytes = value.getBytes(UTF8);
+		out.writeInt(bytes.length);
+		out.write(bytes);
+	}
+
+	/**
+	 * @throws IllegalArgumentException if the length is not valid
+	 */
+	public static String readString(ByteBuffer in) {
+		int length = in.getInt();
+		if (length < 0) {
+			if (length == -1) return null;
+			throw new IllegalArgumentException("Invalid string length " + length);
+		}
+		if (length > in.remaining()) throw new IllegalArgumentException("Invalid string length " + length);
+		byte[] bytes = new byte[length];
+		in.get(bytes);
+		return new String(bytes, UTF8);
+	}
+
+}
@@ -0,0 +1,123 @@
+/**
+ *   ConcurrentCachedMap
+ *   Copyright(c) 2011 Sergio Gabriel Teves
+ * 
+ *   This file is part of UrlResolver.
+ *
+ *   UrlResolver is free software: you can redistribute it and/or modify
+ *   it under the terms of the GNU General Public License as published by
+ *   the Free Software Foundation, either version 3 of the License, or
+ *   (at your option) any later version.
+ *
+ *   UrlResolver is distributed in the hope that it will be useful,
+ *   but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *   MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *   GNU General Public License for more details.
+ *
+ *   You should have received a copy of the GNU General Public License
+ *   along with UrlResolver. If not, see <http://www.gnu.org/licenses/>.
+ */
+package ar.sgt.resolver.utils;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Thread safe bounded cache.
+ * Entries are spread over a few {@link LinkedCachedMap} segments, each one with
+ * its own lock, so concurrent requests seldom wait for each other. Eviction is
+ * done per segment, in access (LRU) or insertion (FIFO) order.
+ * Hits and misses are recorded by the caller, which knows if a cached value
+ * can still be used.
+ */
+public final class ConcurrentCachedMap<K, V> {
+
+	private static final int MAX_SEGMENTS = 16;
+	private static final int MIN_SEGMENT_SIZE = 64;
+
+	private final LinkedCachedMap<K, V>[] segments;
+	private final int mask;
+	private final int maxEntries;
+
+	private final AtomicLong hits = new AtomicLong();
+	private final AtomicLong misses = new AtomicLong();
+
+	public ConcurrentCachedMap(int maxEntries, boolean accessOrder) {
+		if (maxEntries <= 0) throw new IllegalArgumentException("Invalid cache size " + maxEntries);
+		int count = 1;
+		while (count < MAX_SEGMENTS && count * 2 * MIN_SEGMENT_SIZE <= maxEntries) {
+			count <<= 1;
+		}
+		this.segments = newSegments(count);
+		for (int i = 0; i < count; i++) {
+			// the first segments take the remainder
+			int size = maxEntries / count + (i < maxEntries % count ? 1 : 0);
+			this.segments[i] = new LinkedCachedMap<K, V>(Math.min(size, MIN_SEGMENT_SIZE), size, accessOrder);
+		}
+		this.mask = count - 1;
+		this.maxEntries = maxEntries;
+	}
+
+	public V get(K key) {
+		LinkedCachedMap<K, V> segment = segmentFor(key);
+		synchronized (segment) {
+			return segment.get(key);
+		}
+	}
+
+	public void put(K key, V value) {
+		LinkedCachedMap<K, V> segment = segmentFor(key);
+		synchronized (segment) {
+			segment.put(key, value);
+		}
+	}
+
+	public void clear() {
+		for (LinkedCachedMap<K, V> segment : this.segments) {
+			synchronized (segment) {
+				segment.clear();
+			}
+		}
+	}
+
+	public int size() {
+		int size = 0;
+		for (LinkedCachedMap<K, V> segment : this.segments) {
+			synchronized (segment) {
+				size += segment.size();
+			}
+		}
+		return size;
+	}
+
+	public int getMaxEntries() {
+		return maxEntries;
+	}
+
+	public long getHits() {
+		return hits.get();
+	}
+
+	public long getMisses() {
+		return misses.get();
+	}
+
+	public void recordHit() {
+		this.hits.incrementAndGet();
+	}
+
+	public void recordMiss() {
+		this.misses.incrementAndGet();
+	}
+
+	private LinkedCachedMap<K, V> segmentFor(K key) {
+		int h = key.hashCode();
+		h ^= (h >>> 16);
+		return this.segments[h & this.mask];
+	}
+
+	@SuppressWarnings({"unchecked", "rawtypes"})
+	private static <K, V> LinkedCachedMap<K, V>[] newSegments(int count) {
+		return new LinkedCachedMap[count];
+	}
+
+}
@@ -1,146 +1,246 @@
-/**
- *   RegexpHelper
- *   Copyright(c) 2011 Sergio Gabriel Teves
- * 
- *   This file is part of UrlResolver.
- *
- *   UrlResolver is free software: you can redistribute it and/or modify
- *   it under the terms of the GNU General Public License as published by
- *   the Free Software Foundation, either version 3 of the License, or
- *   (at your option) any later version.
- *
- *   UrlResolver is distributed in the hope that it will be useful,
- *   but WITHOUT ANY WARRANTY; without even the implied warranty of
- *   MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
- *   GNU General Public License for more details.
- *
- *   You should have received a copy of the GNU General Public License
- *   along with UrlResolver. If not, see <http://www.gnu.org/licenses/>.
- */
-package ar.sgt.resolver.utils;
-
-import java.text.CharacterIterator;
-import java.text.StringCharacterIterator;
-import java.util.LinkedList;
-import java.util.List;
-import java.util.regex.Pattern;
-
-import com.google.code.regexp.NamedPattern;
-
-/**
- * Functions for reversing a regular expression (used in reverse URL resolving).
- * 
- * This is not, and is not intended to be, a complete reg-exp decompiler. It
- * should be good enough for a large class of URLS, however.
- */
-public final class RegexpHelper {
-
-	/*
-	 * If the char is in this list, it should be ignored (used for regexp
-	 * patterns, ie: \w )
-	 */
-	private static List<String> ESCAPE_MAPPINGS = new LinkedList<String>();
-	/* this chars are ignored */
-	private static List<String> SKIP_MAPPINGS = new LinkedList<String>();
-
-	private static Pattern STRING_RE = Pattern.compile("\\w");
-
-	static {
-		ESCAPE_MAPPINGS.add("t");
-		ESCAPE_MAPPINGS.add("n");
-		ESCAPE_MAPPINGS.add("r");
-		ESCAPE_MAPPINGS.add("f");
-		ESCAPE_MAPPINGS.add("a");
-		ESCAPE_MAPPINGS.add(".");
-		ESCAPE_MAPPINGS.add("d");
-		ESCAPE_MAPPINGS.add("D");
-		ESCAPE_MAPPINGS.add("s");
-		ESCAPE_MAPPINGS.add("S");
-		ESCAPE_MAPPINGS.add("W");
-		ESCAPE_MAPPINGS.add("w");
-		ESCAPE_MAPPINGS.add("b");
-		ESCAPE_MAPPINGS.add("B");
-		ESCAPE_MAPPINGS.add("A");
-		ESCAPE_MAPPINGS.add("G");
-		ESCAPE_MAPPINGS.add("Z");
-		ESCAPE_MAPPINGS.add("Q");
-		ESCAPE_MAPPINGS.add("E");
-
-		SKIP_MAPPINGS.add("^");
-		SKIP_MAPPINGS.add("|");
-		SKIP_MAPPINGS.add("$");
-		SKIP_MAPPINGS.add("+");
-		SKIP_MAPPINGS.add("*");
-	}
-
-	/**
-	 * If withGroups = false it will no process patterns that doesn't have named
-	 * groups
-	 * 
-	 */
-	public static String normalize(String pattern, boolean withGroups) {
-		if (!withGroups) {
-			NamedPattern np = NamedPattern.compile(pattern);
-			if (np.groupNames().size() == 0) {
-				// simply clean the pattern and return unprocessed
-				if (pattern.startsWith("^")) pattern = pattern.substring(1);
-				if (pattern.endsWith("$")) pattern = pattern.substring(0, pattern.length() - 1);
-				return pattern;
-			}
-			// for (String g : np.groupNames()) {
-			// pattern = pattern.replaceAll("\\?P\\(" + g + "\\)", "\\$" + g);
-			// }
-		}
-		StringBuilder cleanPattern = new StringBuilder();
-		CharacterIterator it = new StringCharacterIterator(pattern);
-		for (char ch = it.first(); ch != CharacterIterator.DONE; ch = it.next()) {
-			if (ch == '\\') {
-				ch = it.next();
-				if (!ESCAPE_MAPPINGS.contains(String.valueOf(ch)))
-					cleanPattern.append(ch);
-			} else if (SKIP_MAPPINGS.contains(String.valueOf(ch)))
-				continue;
-			else if (ch == '[') { // start group
-				int nest = 1;
-				while (nest > 0) {
-					ch = it.next();
-					if (ch == '[')
-						nest += 1;
-					else if (ch == ']')
-						nest -= 1;
-				}
-			} else if (ch == '(') { // start group
-				int nest = 1;
-				ch = it.next();
-				if (ch == '$') { // we found a named group
-					cleanPattern.append("$");
-					ch = it.next();
-					while (STRING_RE.matcher(String.valueOf(ch)).matches()) {
-						cleanPattern.append(ch);
-						ch = it.next();
-					}
-				}
-				do {
-					if (ch == '(')
-						nest += 1;
-					else if (ch == ')')
-						nest -= 1;
-					ch = it.next();
-				} while (nest > 0);
-				ch = it.previous(); // go back one char
-			} else
-				cleanPattern.append(ch);
-		}
-		return cleanPattern.toString();
-	}
-
-	/**
-	 * Given a reg-exp pattern, normalizes it to a list of forms that suffice
-	 * for reverse matching.
-	 * 
-	 */
-	public static String normalize(String pattern) {
-		return normalize(pattern, true);
-	}
-
-}
+/**
+ *   RegexpHelper
+ *   Copyright(c) 2011 Sergio Gabriel Teves
+ * 
+ *   This file is part of UrlResolver.
+ *
+ *   UrlResolver is free software: you can redistribute it and/or modify
+ *   it under the terms of the GNU General Public License as published by
+ *   the Free Software Foundation, either version 3 of the License, or
+ *   (at your option) any later version.
+ *
+ *   UrlResolver is distributed in the hope that it will be useful,
+ *   but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *   MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *   GNU General Public License for more details.
+ *
+ *   You should have received a copy of the GNU General Public License
+ *   along with UrlResolver. If not, see <http://www.gnu.org/licenses/>.
+ */
+package ar.sgt.resolver.utils;
+
+import java.text.CharacterIterator;
+import java.text.StringCharacterIterator;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.regex.Pattern;
+
+import com.google.code.regexp.NamedPattern;
+
+/**
+ * Functions for reversing a regular expression (used in reverse URL resolving).
+ * 
+ * This is not, and is not intended to be, a complete reg-exp decompiler. It
+ * should be good enough for a large class of URLS, however.
+ */
+public final class RegexpHelper {
+
+	/*
+	 * If the char is in this list, it should be ignored (used for regexp
+	 * patterns, ie: \w )
+	 */
+	private static List<String> ESCAPE_MAPPINGS = new LinkedList<String>();
+	/* this chars are ignored */
+	private static List<String> SKIP_MAPPINGS = new LinkedList<String>();
+
+	private static Pattern STRING_RE = Pattern.compile("\\w");
+
+	static {
+		ESCAPE_MAPPINGS.add("t");
+		ESCAPE_MAPPINGS.add("n");
+		ESCAPE_MAPPINGS.add("r");
+		ESCAPE_MAPPINGS.add("f");
+		ESCAPE_MAPPINGS.add("a");
+		ESCAPE_MAPPINGS.add(".");
+		ESCAPE_MAPPINGS.add("d");
+		ESCAPE_MAPPINGS.add("D");
+		ESCAPE_MAPPINGS.add("s");
+		ESCAPE_MAPPINGS.add("S");
+		ESCAPE_MAPPINGS.add("W");
+		ESCAPE_MAPPINGS.add("w");
+		ESCAPE_MAPPINGS.add("b");
+		ESCAPE_MAPPINGS.add("B");
+		ESCAPE_MAPPINGS.add("A");
+		ESCAPE_MAPPINGS.add("G");
+		ESCAPE_MAPPINGS.add("Z");
+		ESCAPE_MAPPINGS.add("Q");
+		ESCAPE_MAPPINGS.add("E");
+
+		SKIP_MAPPINGS.add("^");
+		SKIP_MAPPINGS.add("|");
+		SKIP_MAPPINGS.add("$");
+		SKIP_MAPPINGS.add("+");
+		SKIP_MAPPINGS.add("*");
+	}
+
+	/**
+	 * If withGroups = false it will no process patterns that doesn't have named
+	 * groups
+	 * 
+	 */
+	public static String normalize(String pattern, boolean withGroups) {
+		if (!withGroups) {
+			NamedPattern np = NamedPattern.compile(pattern);
+			if (np.groupNames().size() == 0) {
+				// simply clean the pattern and return unprocessed
+				if (pattern.startsWith("^")) pattern = pattern.substring(1);
+				if (pattern.endsWith("$")) pattern = pattern.substring(0, pattern.length() - 1);
+				return pattern;
+			}
+			// for (String g : np.groupNames()) {
+			// pattern = pattern.replaceAll("\\?P\\(" + g + "\\)", "\\$" + g);
+			// }
+		}
+		StringBuilder cleanPattern = new StringBuilder();
+		CharacterIterator it = new StringCharacterIterator(pattern);
+		for (char ch = it.first(); ch != CharacterIterator.DONE; ch = it.next()) {
+			if (ch == '\\') {
+				ch = it.next();
+				if (!ESCAPE_MAPPINGS.contains(String.valueOf(ch)))
+					cleanPattern.append(ch);
+			} else if (SKIP_MAPPINGS.contains(String.valueOf(ch)))
+				continue;
+			else if (ch == '[') { // start group
+				int nest = 1;
+				while (nest > 0) {
+					ch = it.next();
+					if (ch == '[')
+						nest += 1;
+					else if (ch == ']')
+						nest -= 1;
+				}
+			} else if (ch == '(') { // start group
+				int nest = 1;
+				ch = it.next();
+				if (ch == '$') { // we found a named group
+					cleanPattern.append("$");
+					ch = it.next();
+					while (STRING_RE.matcher(String.valueOf(ch)).matches()) {
+						cleanPattern.append(ch);
+						ch = it.next();
+					}
+				}
+				do {
+					if (ch == '(')
+						nest += 1;
+					else if (ch == ')')
+						nest -= 1;
+					ch = it.next();
+				} while (nest > 0);
+				ch = it.previous(); // go back one char
+			} else
+				cleanPattern.append(ch);
+		}
+		return cleanPattern.toString();
+	}
+
+	/**
+	 * Given a reg-exp pattern, normalizes it to a list of forms that suffice
+	 * for reverse matching.
+	 * 
+	 */
+	public static String normalize(String pattern) {
+		return normalize(pattern, true);
+	}
+
+	/*
+	 * this chars ends the literal part of a pattern
+	 */
+	private static final String META_CHARS = ".[](){}*+?^$|\\";
+
+	/**
+	 * Returns the literal text every path matching the pattern must start
+	 * with (ie: /alias/ for ^/alias/($key[\w]+)/$). The result is
+	 * conservative, an empty string is returned when no literal prefix can be
+	 * safely determined.
+	 */
+	public static String literalPrefix(String pattern) {
+		// a top level alternation has no common prefix
+		for (int i = 0; i < pattern.length(); i++) {
+			char ch = pattern.charAt(i);
+			if (ch == '\\') i++;
+			else if (ch == '|') return "";
+		}
+		StringBuilder prefix = new StringBuilder();
+		int i = pattern.startsWith("^") ? 1 : 0;
+		while (i < pattern.length()) {
+			char ch = pattern.charAt(i);
+			int next = i + 1;
+			if (ch == '\\') {
+				if (next == pattern.length()) break;
+				ch = pattern.charAt(next++);
+				// \w, \d, \Q, back references, etc.
+				if (Character.isLetterOrDigit(ch)) break;
+			} else if (META_CHARS.indexOf(ch) >= 0) {
+				break;
+			}
+			if (next < pattern.length()) {
+				char q = pattern.charAt(next);
+				// the char is optional or repeated
+				if (q == '?' || q == '*' || q == '{') break;
+				if (q == '+') {
+					prefix.append(ch);
+					break;
+				}
+			}
+			prefix.append(ch);
+			i = next;
+		}
+		return prefix.toString();
+	}
+
+	/**
+	 * Returns the literal text every path matching the pattern must end with
+	 * (ie: /detail/ for ^($slug[-\w]+)/detail/$). As with
+	 * {@link #literalPrefix(String)} an empty string is returned when it can't
+	 * be safely determined, which includes patterns with inline flags (ie:
+	 * (?i)) as they may change how the suffix is matched.
+	 */
+	public static String literalSuffix(String pattern) {
+		for (int i = 0; i < pattern.length(); i++) {
+			char ch = pattern.charAt(i);
+			if (ch == '\\') i++;
+			else if (ch == '|') return "";
+			else if (ch == '(' && isFlagGroup(pattern, i)) return "";
+		}
+		int end = pattern.length();
+		if (end > 0 && pattern.charAt(end - 1) == '$' && !isEscaped(pattern, end - 1)) end--;
+		StringBuilder suffix = new StringBuilder();
+		for (int i = end - 1; i >= 0; i--) {
+			char ch = pattern.charAt(i);
+			if (isEscaped(pattern, i)) {
+				// \w, \d, \E, etc.
+				if (Character.isLetterOrDigit(ch)) break;
+				i--;
+			} else if (META_CHARS.indexOf(ch) >= 0) {
+				// quantifiers are found before the char they apply to
+				break;
+			}
+			suffix.append(ch);
+		}
+		return suffix.reverse().toString();
+	}
+
+	/*
+	 * (?idmsux-idmsux) or (?idmsux-idmsux:X)
+	 */
+	private static boolean isFlagGroup(String pattern, int index) {
+		int i = index + 1;
+		if (i >= pattern.length() || pattern.charAt(i) != '?') return false;
+		boolean flags = false;
+		for (i++; i < pattern.length(); i++) {
+			char ch = pattern.charAt(i);
+			if (ch == ')' || ch == ':') return flags;
+			if (!Character.isLetter(ch) && ch != '-') return false;
+			flags = true;
+		}
+		return false;
+	}
+
+	private static boolean isEscaped(String pattern, int index) {
+		int count = 0;
+		while (index > 0 && pattern.charAt(--index) == '\\') count++;
+		return count % 2 == 1;
+	}
+
+}
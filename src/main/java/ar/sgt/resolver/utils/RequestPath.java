@@ -0,0 +1,95 @@
+/**
+ *   RequestPath
+ *   Copyright(c) 2011 Sergio Gabriel Teves
+ * 
+ *   This file is part of UrlResolver.
+ *
+ *   UrlResolver is free software: you can redistribute it and/or modify
+ *   it under the terms of the GNU General Public License as published by
+ *   the Free Software Foundation, either version 3 of the License, or
+ *   (at your option) any later version.
+ *
+ *   UrlResolver is distributed in the hope that it will be useful,
+ *   but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *   MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *   GNU General Public License for more details.
+ *
+ *   You should have received a copy of the GNU General Public License
+ *   along with UrlResolver. If not, see <http://www.gnu.org/licenses/>.
+ */
+package ar.sgt.resolver.utils;
+
+/**
+ * View of the request uri used for matching.
+ * The context path and the duplicated leading slash are skipped and the
+ * trailing slash is added virtually, so the uri is never copied unless
+ * the path is converted to a String.
+ */
+public final class RequestPath implements CharSequence {
+
+	private final String uri;
+	private final int start;
+	private final int end;
+	private final boolean trailingSlash;
+
+	private String value;
+
+	private RequestPath(String uri, int start, int end, boolean trailingSlash) {
+		this.uri = uri;
+		this.start = start;
+		this.end = end;
+		this.trailingSlash = trailingSlash;
+	}
+
+	/**
+	 * @param uri the request uri
+	 * @param contextPath removed from the start of the uri ignoring case, may be null
+	 */
+	public static RequestPath of(String uri, String contextPath) {
+		int start = 0;
+		if (contextPath != null && !contextPath.isEmpty() && uri.regionMatches(true, 0, contextPath, 0, contextPath.length())) {
+			start = contextPath.length();
+		}
+		if (uri.startsWith("//", start)) {
+			start++;
+		}
+		return new RequestPath(uri, start, uri.length(), false);
+	}
+
+	/**
+	 * @return the same path ending with a slash
+	 */
+	public RequestPath withTrailingSlash() {
+		if (this.trailingSlash || (this.end > this.start && this.uri.charAt(this.end - 1) == '/')) return this;
+		return new RequestPath(this.uri, this.start, this.end, true);
+	}
+
+	@Override
+	public int length() {
+		return this.end - this.start + (this.trailingSlash ? 1 : 0);
+	}
+
+	@Override
+	public char charAt(int index) {
+		if (index < 0 || index >= length()) throw new IndexOutOfBoundsException(String.valueOf(index));
+		int i = this.start + index;
+		return i < this.end ? this.uri.charAt(i) : '/';
+	}
+
+	@Override
+	public CharSequence subSequence(int start, int end) {
+		if (start < 0 || end > length() || start > end) throw new IndexOutOfBoundsException(start + "," + end);
+		if (end <= this.end - this.start) return this.uri.substring(this.start + start, this.start + end);
+		return toString().substring(start, end);
+	}
+
+	@Override
+	public String toString() {
+		if (this.value == null) {
+			String path = this.uri.substring(this.start, this.end);
+			this.value = this.trailingSlash ? path + "/" : path;
+		}
+		return this.value;
+	}
+
+}
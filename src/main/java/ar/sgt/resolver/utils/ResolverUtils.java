@@ -1,78 +1,197 @@
-/**
- *   Copyright(c) 2010-2011 CodWar Soft
- * 
- *   This file is part of IPDB UrT.
- *
- *   IPDB UrT is free software: you can redistribute it and/or modify
- *   it under the terms of the GNU General Public License as published by
- *   the Free Software Foundation, either version 3 of the License, or
- *   (at your option) any later version.
- *
- *   This software is distributed in the hope that it will be useful,
- *   but WITHOUT ANY WARRANTY; without even the implied warranty of
- *   MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
- *   GNU General Public License for more details.
- *
- *   You should have received a copy of the GNU General Public License
- *   along with this software. If not, see <http://www.gnu.org/licenses/>.
- */
-package ar.sgt.resolver.utils;
-
-import java.io.UnsupportedEncodingException;
-
-public class ResolverUtils {
-
-	/**
-	 * URLDecoder.decode replace %2B with a space.
-	 * This function use the corresponding (+) plus sign for %2B.
-	 * It use UTF-8 as default.
-	 * @throws UnsupportedEncodingException 
-	 */
-	public static String decodeUrl(String s) throws UnsupportedEncodingException {
-		int numChars = s.length();
-		StringBuffer sb = new StringBuffer(numChars > 500 ? numChars / 2
-				: numChars);
-		int i = 0;
-
-		char c;
-		byte[] bytes = null;
-		while (i < numChars) {
-			c = s.charAt(i);
-			switch (c) {
-			case '%':
-				try {
-
-					if (bytes == null)
-						bytes = new byte[(numChars - i) / 3];
-					int pos = 0;
-
-					while (((i + 2) < numChars) && (c == '%')) {
-						bytes[pos++] = (byte) Integer.parseInt(
-								s.substring(i + 1, i + 3), 16);
-						i += 3;
-						if (i < numChars)
-							c = s.charAt(i);
-					}
-
-					if ((i < numChars) && (c == '%'))
-						throw new IllegalArgumentException(
-								"URLDecoder: Incomplete trailing escape (%) pattern");
-
-					sb.append(new String(bytes, 0, pos, "UTF-8"));
-				} catch (NumberFormatException e) {
-					throw new IllegalArgumentException(
-							"URLDecoder: Illegal hex characters in escape (%) pattern - "
-									+ e.getMessage());
-				}
-				break;
-			default:
-				sb.append(c);
-				i++;
-				break;
-			}
-		}
-
-		return sb.toString();
-	}
-	
-}
+/**
+ *   Copyright(c) 2010-2011 CodWar Soft
+ * 
+ *   This file is part of IPDB UrT.
+ *
+ *   IPDB UrT is free software: you can redistribute it and/or modify
+ *   it under the terms of the GNU General Public License as published by
+ *   the Free Software Foundation, either version 3 of the License, or
+ *   (at your option) any later version.
+ *
+ *   This software is distributed in the hope that it will be useful,
+ *   but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *   MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *   GNU General Public License for more details.
+ *
+ *   You should have received a copy of the GNU General Public License
+ *   along with this software. If not, see <http://www.gnu.org/licenses/>.
+ */
+package ar.sgt.resolver.utils;
+
+import java.io.IOException;
+import java.io.UnsupportedEncodingException;
+import java.nio.charset.Charset;
+import java.util.Arrays;
+
+public class ResolverUtils {
+
+	private static final Charset UTF8 = Charset.forName("UTF-8");
+
+	/* value of each hex digit, -1 for any other ascii char */
+	private static final byte[] HEX_VALUES = new byte[128];
+
+	static {
+		Arrays.fill(HEX_VALUES, (byte) -1);
+		for (int i = 0; i < 10; i++) {
+			HEX_VALUES['0' + i] = (byte) i;
+		}
+		for (int i = 0; i < 6; i++) {
+			HEX_VALUES['a' + i] = (byte) (10 + i);
+			HEX_VALUES['A' + i] = (byte) (10 + i);
+		}
+	}
+
+	/**
+	 * URLDecoder.decode replace %2B with a space.
+	 * This function use the corresponding (+) plus sign for %2B.
+	 * It use UTF-8 as default. Invalid UTF-8 bytes are replaced with U+FFFD.
+	 * The same string is returned when there is nothing to decode.
+	 * @throws IllegalArgumentException if an escape is incomplete or not hex
+	 * @throws UnsupportedEncodingException 
+	 */
+	public static String decodeUrl(String s) throws UnsupportedEncodingException {
+		int i = s.indexOf('%');
+		if (i < 0) return s;
+		int numChars = s.length();
+		StringBuilder sb = new StringBuilder(numChars);
+		sb.append(s, 0, i);
+		byte[] bytes = null;
+		while (i < numChars) {
+			char c = s.charAt(i);
+			if (c != '%') {
+				sb.append(c);
+				i++;
+				continue;
+			}
+			if (bytes == null) bytes = new byte[(numChars - i) / 3];
+			int pos = 0;
+			boolean ascii = true;
+			// consecutive escapes are decoded together, they may be a multibyte char
+			while (i < numChars && s.charAt(i) == '%') {
+				if (i + 2 >= numChars) {
+					throw new IllegalArgumentException("URLDecoder: Incomplete trailing escape (%) pattern");
+				}
+				int b = (hexValue(s.charAt(i + 1)) << 4) | hexValue(s.charAt(i + 2));
+				if (b < 0) {
+					throw new IllegalArgumentException("URLDecoder: Illegal hex characters in escape (%) pattern - "
+							+ s.substring(i + 1, i + 3));
+				}
+				ascii &= b < 0x80;
+				bytes[pos++] = (byte) b;
+				i += 3;
+			}
+			if (ascii) {
+				for (int b = 0; b < pos; b++) {
+					sb.append((char) bytes[b]);
+				}
+			} else {
+				sb.append(new String(bytes, 0, pos, UTF8));
+			}
+		}
+		return sb.toString();
+	}
+
+	/**
+	 * @return the value of the hex digit, or a negative number big enough to
+	 * keep a shifted byte negative
+	 */
+	private static int hexValue(char c) {
+		return c < 128 && HEX_VALUES[c] >= 0 ? HEX_VALUES[c] : -0x100;
+	}
+
+	private static final char[] HEX = "0123456789ABCDEF".toCharArray();
+
+	/*
+	 * chars left as is in a path segment: the RFC 3986 unreserved chars and
+	 * the sub-delims that are also safe inside html attributes, except ;
+	 * which containers take as the start of a path parameter
+	 */
+	private static final boolean[] SEGMENT_SAFE = new boolean[128];
+
+	static {
+		for (char c = 'a'; c <= 'z'; c++) SEGMENT_SAFE[c] = true;
+		for (char c = 'A'; c <= 'Z'; c++) SEGMENT_SAFE[c] = true;
+		for (char c = '0'; c <= '9'; c++) SEGMENT_SAFE[c] = true;
+		for (char c : "-._~!$()*+,=:@".toCharArray()) SEGMENT_SAFE[c] = true;
+	}
+
+	/**
+	 * Percent-encodes s as a path segment (RFC 3986) in UTF-8.
+	 * Unlike URLEncoder, a space is %20 and the result is written to out as it
+	 * is encoded. Values without chars to encode are appended as they are.
+	 */
+	public static void encodePathSegment(CharSequence s, Appendable out) throws IOException {
+		int length = s.length();
+		int start = 0;
+		while (start < length && isSegmentSafe(s.charAt(start))) start++;
+		if (start == length) {
+			out.append(s);
+			return;
+		}
+		out.append(s, 0, start);
+		for (int i = start; i < length; i++) {
+			char c = s.charAt(i);
+			if (isSegmentSafe(c)) {
+				out.append(c);
+			} else if (c < 0x80) {
+				appendByte(c, out);
+			} else if (c < 0x800) {
+				appendByte(0xC0 | (c >> 6), out);
+				appendByte(0x80 | (c & 0x3F), out);
+			} else if (Character.isHighSurrogate(c) && i + 1 < length && Character.isLowSurrogate(s.charAt(i + 1))) {
+				int cp = Character.toCodePoint(c, s.charAt(++i));
+				appendByte(0xF0 | (cp >> 18), out);
+				appendByte(0x80 | ((cp >> 12) & 0x3F), out);
+				appendByte(0x80 | ((cp >> 6) & 0x3F), out);
+				appendByte(0x80 | (cp & 0x3F), out);
+			} else if (c >= Character.MIN_SURROGATE && c <= Character.MAX_SURROGATE) {
+				// unpaired surrogates are encoded as ?
+				appendByte('?', out);
+			} else {
+				appendByte(0xE0 | (c >> 12), out);
+				appendByte(0x80 | ((c >> 6) & 0x3F), out);
+				appendByte(0x80 | (c & 0x3F), out);
+			}
+		}
+	}
+
+	/**
+	 * @return s encoded as a path segment, the same instance if there is
+	 * nothing to encode
+	 * @see #encodePathSegment(CharSequence, Appendable)
+	 */
+	public static String encodePathSegment(String s) {
+		int i = 0;
+		while (i < s.length() && isSegmentSafe(s.charAt(i))) i++;
+		if (i == s.length()) return s;
+		StringBuilder builder = new StringBuilder(s.length() + 16);
+		try {
+			encodePathSegment(s, builder);
+		} catch (IOException e) {
+			// StringBuilder doesn't throw it
+			throw new IllegalStateException(e);
+		}
+		return builder.toString();
+	}
+
+	private static boolean isSegmentSafe(char c) {
+		return c < 128 && SEGMENT_SAFE[c];
+	}
+
+	private static void appendByte(int b, Appendable out) throws IOException {
+		out.append('%').append(HEX[(b >> 4) & 0xF]).append(HEX[b & 0xF]);
+	}
+
+	/**
+	 * String.regionMatches for any CharSequence.
+	 * @return true if s contains other at offset
+	 */
+	public static boolean regionMatches(CharSequence s, int offset, CharSequence other) {
+		if (offset < 0 || offset + other.length() > s.length()) return false;
+		for (int i = 0; i < other.length(); i++) {
+			if (s.charAt(offset + i) != other.charAt(i)) return false;
+		}
+		return true;
+	}
+	
+}
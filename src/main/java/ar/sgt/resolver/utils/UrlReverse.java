@@ -1,101 +1,222 @@
-/**
- *   UrlReverse
- *   Copyright(c) 2011 Sergio Gabriel Teves
- * 
- *   This file is part of UrlResolver.
- *
- *   UrlResolver is free software: you can redistribute it and/or modify
- *   it under the terms of the GNU General Public License as published by
- *   the Free Software Foundation, either version 3 of the License, or
- *   (at your option) any later version.
- *
- *   UrlResolver is distributed in the hope that it will be useful,
- *   but WITHOUT ANY WARRANTY; without even the implied warranty of
- *   MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
- *   GNU General Public License for more details.
- *
- *   You should have received a copy of the GNU General Public License
- *   along with UrlResolver. If not, see <http://www.gnu.org/licenses/>.
- */
-package ar.sgt.resolver.utils;
-
-import hurl.build.QueryBuilder;
-
-import java.io.UnsupportedEncodingException;
-import java.net.URLEncoder;
-import java.util.Collections;
-import java.util.HashMap;
-import java.util.Map;
-import java.util.Map.Entry;
-
-import javax.servlet.ServletContext;
-
-import ar.sgt.resolver.config.ResolverConfig;
-import ar.sgt.resolver.exception.ReverseException;
-import ar.sgt.resolver.exception.RuleNotFoundException;
-import ar.sgt.resolver.listener.ContextLoader;
-import ar.sgt.resolver.rule.Rule;
-
-import com.google.code.regexp.NamedPattern;
-
-public final class UrlReverse {
-
-	private ResolverConfig config;
-	
-	public UrlReverse(ResolverConfig config) {
-		this.config = config;
-	}
-	
-	public UrlReverse(ServletContext context) {
-		this.config = (ResolverConfig) context.getAttribute(ContextLoader.RESOLVER_CONFIG);	
-	}
-	
-	public String resolve(String name) throws RuleNotFoundException, ReverseException {
-		return resolve(name, Collections.<String,String>emptyMap());
-	}
-
-	public String resolve(String name, Entry<String, String>[] params) throws RuleNotFoundException, ReverseException {
-		Map<String, String> m = new HashMap<String, String>();
-		for (Entry<String, String> e : params) {
-			m.put(e.getKey(), e.getValue());
-		}
-		return resolve(name, m);
-	}
-	
-	public String resolve(String name, Map<String, String> params) throws RuleNotFoundException, ReverseException {
-		Rule rule = this.config.findByName(name);
-		if (rule == null) throw new RuleNotFoundException("Unable to find a rule for name: " + name);
-		return reverse(rule.getPattern(), params);
-	}
-	
-	private String reverse(String url, Map<String, String> params) throws ReverseException {
-		if (params.size() > 0) {
-			NamedPattern pt = NamedPattern.compile(url);
-			String finalUrl = RegexpHelper.normalize(url);
-			// clone the params map, we don't want to modify the original map
-			Map<String, String> tempParams = new HashMap<String, String>(params);
-			if (pt.groupNames().size() > 0) {
-				for (String key : pt.groupNames()) {
-					String value = tempParams.remove(key);
-					if (value == null) throw new ReverseException("Missing param " + key);
-					try {
-						finalUrl = finalUrl.replace("$" + key, URLEncoder.encode(value, "UTF-8"));
-					} catch (UnsupportedEncodingException e) {
-						throw new ReverseException(e);
-					}
-				}
-			}
-			if (tempParams.size() > 0) {
-				// we still have unmatched params. add it as query
-				QueryBuilder queryBuilder = QueryBuilder.create();
-				for (Entry<String, String> entry : tempParams.entrySet()) {
-					queryBuilder.addParam(entry.getKey(), entry.getValue());	
-				}
-				finalUrl = finalUrl + "?" + queryBuilder.toString();
-			}
-			return finalUrl;
-		} else {
-			return RegexpHelper.normalize(url, false);
-		}
-	}
-}
+/**
+ *   UrlReverse
+ *   Copyright(c) 2011 Sergio Gabriel Teves
+ * 
+ *   This file is part of UrlResolver.
+ *
+ *   UrlResolver is free software: you can redistribute it and/or modify
+ *   it under the terms of the GNU General Public License as published by
+ *   the Free Software Foundation, either version 3 of the License, or
+ *   (at your option) any later version.
+ *
+ *   UrlResolver is distributed in the hope that it will be useful,
+ *   but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *   MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *   GNU General Public License for more details.
+ *
+ *   You should have received a copy of the GNU General Public License
+ *   along with UrlResolver. If not, see <http://www.gnu.org/licenses/>.
+ */
+package ar.sgt.resolver.utils;
+
+import java.io.IOException;
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+import javax.servlet.ServletContext;
+
+import ar.sgt.resolver.config.ConfigHolder;
+import ar.sgt.resolver.config.ResolverConfig;
+import ar.sgt.resolver.exception.ReverseException;
+import ar.sgt.resolver.exception.RuleNotFoundException;
+import ar.sgt.resolver.listener.ContextLoader;
+import ar.sgt.resolver.rule.ReverseTemplate;
+import ar.sgt.resolver.rule.Rule;
+
+public final class UrlReverse {
+
+	private final ConfigHolder configHolder;
+	
+	public UrlReverse(ResolverConfig config) {
+		this.configHolder = new ConfigHolder(config);
+	}
+	
+	public UrlReverse(ServletContext context) {
+		this.configHolder = ContextLoader.getConfigHolder(context);
+	}
+	
+	public String resolve(String name) throws RuleNotFoundException, ReverseException {
+		return resolve(name, Collections.<String,String>emptyMap());
+	}
+
+	public String resolve(String name, Entry<String, String>[] params) throws RuleNotFoundException, ReverseException {
+		Map<String, String> m = new HashMap<String, String>();
+		for (Entry<String, String> e : params) {
+			m.put(e.getKey(), e.getValue());
+		}
+		return resolve(name, m);
+	}
+	
+	public String resolve(String name, Map<String, String> params) throws RuleNotFoundException, ReverseException {
+		return findTemplate(name).reverse(params);
+	}
+
+	/**
+	 * Writes the context path followed by the url of the rule to out.
+	 * Nothing is written if the rule is not found or a param is missing.
+	 */
+	public void resolve(String name, Map<String, String> params, String contextPath, Appendable out) throws RuleNotFoundException, ReverseException, IOException {
+		findTemplate(name).reverse(contextPath, params, out);
+	}
+
+	/**
+	 * Resolves one url of the rule for each map of params.
+	 * @throws ReverseException if a param is missing in any of the maps
+	 */
+	public List<String> resolveAll(String name, List<? extends Map<String, String>> params) throws RuleNotFoundException, ReverseException {
+		ReverseTemplate template = findTemplate(name);
+		List<String> urls = new ArrayList<String>(params.size());
+		for (Map<String, String> row : params) {
+			urls.add(template.reverse(row));
+		}
+		return urls;
+	}
+
+	/**
+	 * Resolves one url of the rule for each row of the columns. Each column
+	 * holds the values of a param, all of them with the same size.
+	 * @throws ReverseException if a value is null or the columns have different sizes
+	 */
+	public List<String> resolveAll(String name, Map<String, ? extends List<String>> columns) throws RuleNotFoundException, ReverseException {
+		ReverseTemplate template = findTemplate(name);
+		ColumnRow row = new ColumnRow(columns);
+		List<String> urls = new ArrayList<String>(row.rows);
+		for (row.index = 0; row.index < row.rows; row.index++) {
+			urls.add(template.reverse(row));
+		}
+		return urls;
+	}
+
+	/**
+	 * Writes the context path followed by the url of the rule for each map of
+	 * params to out, with the separator between them.
+	 * @throws ReverseException if a param is missing, the urls of the
+	 * previous maps were already written
+	 */
+	public void resolveAll(String name, Iterable<? extends Map<String, String>> params, String contextPath, Appendable out, CharSequence separator) throws RuleNotFoundException, ReverseException, IOException {
+		ReverseTemplate template = findTemplate(name);
+		boolean first = true;
+		for (Map<String, String> row : params) {
+			if (!first) out.append(separator);
+			template.reverse(contextPath, row, out);
+			first = false;
+		}
+	}
+
+	private ReverseTemplate findTemplate(String name) throws RuleNotFoundException {
+		Rule rule = this.configHolder.get().findByName(name);
+		if (rule == null) throw new RuleNotFoundException("Unable to find a rule for name: " + name);
+		return rule.getReverseTemplate();
+	}
+
+	/**
+	 * A row of the columns seen as a map, moved to the next row by changing
+	 * the index. Avoids a map for each row. The columns are copied to arrays,
+	 * so any kind of list is read in constant time.
+	 */
+	private static final class ColumnRow extends AbstractMap<String, String> {
+
+		private final String[] keys;
+		private final String[][] values;
+		private final Map<String, String[]> columns;
+		private final Set<Entry<String, String>> entries;
+		private final int rows;
+		private int index;
+
+		private ColumnRow(Map<String, ? extends List<String>> columns) throws ReverseException {
+			this.keys = new String[columns.size()];
+			this.values = new String[columns.size()][];
+			this.columns = new HashMap<String, String[]>();
+			int size = -1;
+			int i = 0;
+			for (Entry<String, ? extends List<String>> column : columns.entrySet()) {
+				List<String> list = column.getValue();
+				if (size >= 0 && list.size() != size) {
+					throw new ReverseException("Column " + column.getKey() + " has " + list.size() + " values, expected " + size);
+				}
+				size = list.size();
+				this.keys[i] = column.getKey();
+				this.values[i] = list.toArray(new String[size]);
+				this.columns.put(this.keys[i], this.values[i]);
+				i++;
+			}
+			this.rows = Math.max(size, 0);
+			this.entries = new AbstractSet<Entry<String, String>>() {
+
+				@Override
+				public Iterator<Entry<String, String>> iterator() {
+					return new Iterator<Entry<String, String>>() {
+
+						private int column;
+
+						@Override
+						public boolean hasNext() {
+							return this.column < keys.length;
+						}
+
+						@Override
+						public Entry<String, String> next() {
+							if (!hasNext()) throw new NoSuchElementException();
+							int c = this.column++;
+							return new SimpleImmutableEntry<String, String>(keys[c], values[c][index]);
+						}
+
+						@Override
+						public void remove() {
+							throw new UnsupportedOperationException();
+						}
+
+					};
+				}
+
+				@Override
+				public int size() {
+					return keys.length;
+				}
+
+			};
+		}
+
+		@Override
+		public String get(Object key) {
+			String[] column = this.columns.get(key);
+			return column != null ? column[this.index] : null;
+		}
+
+		@Override
+		public boolean containsKey(Object key) {
+			return this.columns.containsKey(key);
+		}
+
+		@Override
+		public int size() {
+			return this.keys.length;
+		}
+
+		@Override
+		public Set<Entry<String, String>> entrySet() {
+			return this.entries;
+		}
+
+	}
+
+}
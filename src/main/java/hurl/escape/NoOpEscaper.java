@@ -1,48 +1,48 @@
-/*
-Copyright (c) 2009 McDowell
-
-Permission is hereby granted, free of charge, to any person obtaining a copy
-of this software and associated documentation files (the "Software"), to deal
-in the Software without restriction, including without limitation the rights
-to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
-copies of the Software, and to permit persons to whom the Software is
-furnished to do so, subject to the following conditions:
-
-The above copyright notice and this permission notice shall be included in
-all copies or substantial portions of the Software.
-
-THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
-IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
-FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
-AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
-LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
-OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
-THE SOFTWARE.
- */
-
-package hurl.escape;
-
-/**
- * An empty class that performs no escaping; can be used with builders to turn
- * them purely into parsers.
- * 
- * @author McDowell
- */
-public final class NoOpEscaper implements Escaper {
-  /** An instance of this class. */
-  public static final Escaper INSTANCE = new NoOpEscaper();
-
-  /**
-   * @return the value passed as an argument.
-   */
-  public String escape(String unescaped) {
-    return unescaped;
-  }
-
-  /**
-   * @return the value passed as an argument.
-   */
-  public String unescape(String escaped) {
-    return escaped;
-  }
-}
+/*
+Copyright (c) 2009 McDowell
+
+Permission is hereby granted, free of charge, to any person obtaining a copy
+of this software and associated documentation files (the "Software"), to deal
+in the Software without restriction, including without limitation the rights
+to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+copies of the Software, and to permit persons to whom the Software is
+furnished to do so, subject to the following conditions:
+
+The above copyright notice and this permission notice shall be included in
+all copies or substantial portions of the Software.
+
+THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+THE SOFTWARE.
+ */
+
+package hurl.escape;
+
+/**
+ * An empty class that performs no escaping; can be used with builders to turn
+ * them purely into parsers.
+ * 
+ * @author McDowell
+ */
+public final class NoOpEscaper implements Escaper {
+  /** An instance of this class. */
+  public static final Escaper INSTANCE = new NoOpEscaper();
+
+  /**
+   * @return the value passed as an argument.
+   */
+  public String escape(String unescaped) {
+    return unescaped;
+  }
+
+  /**
+   * @return the value passed as an argument.
+   */
+  public String unescape(String escaped) {
+    return escaped;
+  }
+}
@@ -1,74 +1,759 @@
-/**
- *   ResolverTest
- *   Copyright(c) 2011 Sergio Gabriel Teves
- * 
- *   This file is part of UrlResolver.
- *
- *   UrlResolver is free software: you can redistribute it and/or modify
- *   it under the terms of the GNU General Public License as published by
- *   the Free Software Foundation, either version 3 of the License, or
- *   (at your option) any later version.
- *
- *   UrlResolver is distributed in the hope that it will be useful,
- *   but WITHOUT ANY WARRANTY; without even the implied warranty of
- *   MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
- *   GNU General Public License for more details.
- *
- *   You should have received a copy of the GNU General Public License
- *   along with UrlResolver. If not, see <http://www.gnu.org/licenses/>.
- */
-package ar.sgt.resolver.test.processor;
-
-import java.io.IOException;
-
-import javax.xml.parsers.ParserConfigurationException;
-
-import junit.framework.TestCase;
-
-import org.xml.sax.SAXException;
-
-import ar.sgt.resolver.config.ConfigParser;
-import ar.sgt.resolver.config.ResolverConfig;
-import ar.sgt.resolver.processor.ForwardProcessor;
-import ar.sgt.resolver.rule.Rule;
-
-public class ResolverTest extends TestCase {
-
-	private ResolverConfig config;
-	
-	@Override
-	protected void setUp() throws Exception {
-		ConfigParser parser = new ConfigParser();
-		try {
-			this.config = parser.parse(this.getClass().getResourceAsStream("/urlresolver.xml"));
-		} catch (ParserConfigurationException e) {
-			e.printStackTrace();
-		} catch (SAXException e) {
-			e.printStackTrace();
-		} catch (IOException e) {
-			e.printStackTrace();
-		}
-	}
-
-	public void testConfigLoader() {
-		Rule rule1 = config.findRule("aslugcode/detail/");
-		assertEquals("TestProcessor1", rule1.getProcessor());
-		assertEquals("aslugcode", rule1.parseParams().get("slug"));
-		Rule rule2 = config.findRule("detail/");
-		assertNull(rule2.parseParams().get("slug"));
-		assertEquals("TestProcessor2", rule2.getProcessor());
-		assertEquals("page1.jsp", rule2.getRedirect());
-		Rule rule3 = config.findByName("rule1");
-		assertEquals("TestProcessor1", rule3.getProcessor());
-		Rule rule4 = config.findByName("rule4");
-		assertNull(rule4);
-		Rule rule5 = config.findRule("detail/redirect/");
-		assertEquals(ForwardProcessor.class.getName(), rule5.getProcessor());
-		assertEquals(2, rule5.getArguments().size());
-		assertEquals("value2", rule5.parseParams().get("arg2"));
-		Rule rule6 = config.findRule("somepage.jsp?d=valor");
-		assertEquals("rule1", rule6.getRedirect());
-	}
-	
-	
-}
+/**
+ *   ResolverTest
+ *   Copyright(c) 2011 Sergio Gabriel Teves
+ * 
+ *   This file is part of UrlResolver.
+ *
+ *   UrlResolver is free software: you can redistribute it and/or modify
+ *   it under the terms of the GNU General Public License as published by
+ *   the Free Software Foundation, either version 3 of the License, or
+ *   (at your option) any later version.
+ *
+ *   UrlResolver is distributed in the hope that it will be useful,
+ *   but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *   MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *   GNU General Public License for more details.
+ *
+ *   You should have received a copy of the GNU General Public License
+ *   along with UrlResolver. If not, see <http://www.gnu.org/licenses/>.
+ */
+package ar.sgt.resolver.test.processor;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.RandomAccessFile;
+import java.io.Writer;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.zip.CRC32;
+
+import javax.servlet.FilterChain;
+import javax.servlet.FilterConfig;
+import javax.servlet.ServletContext;
+import javax.servlet.ServletRequest;
+import javax.servlet.ServletResponse;
+import javax.servlet.http.HttpServletRequest;
+import javax.xml.parsers.ParserConfigurationException;
+
+import junit.framework.TestCase;
+
+import org.xml.sax.SAXException;
+
+import ar.sgt.resolver.config.ConfigHolder;
+import ar.sgt.resolver.config.ConfigParser;
+import ar.sgt.resolver.config.ConfigSnapshot;
+import ar.sgt.resolver.config.ResolverConfig;
+import ar.sgt.resolver.config.RouteTableGenerator;
+import ar.sgt.resolver.config.StaxConfigParser;
+import ar.sgt.resolver.exception.ConfigException;
+import ar.sgt.resolver.exception.ReverseException;
+import ar.sgt.resolver.filter.ExcludePathMatcher;
+import ar.sgt.resolver.filter.ResolverFilter;
+import ar.sgt.resolver.listener.ContextLoader;
+import ar.sgt.resolver.processor.DefaultProcessorFactory;
+import ar.sgt.resolver.processor.ForwardProcessor;
+import ar.sgt.resolver.processor.ProcessorProvider;
+import ar.sgt.resolver.processor.ProcessorScope;
+import ar.sgt.resolver.rule.MatchEngine;
+import ar.sgt.resolver.rule.RedirectTarget;
+import ar.sgt.resolver.rule.ReverseTemplate;
+import ar.sgt.resolver.rule.Rule;
+import ar.sgt.resolver.rule.RuleMatch;
+import ar.sgt.resolver.rule.RuleSet;
+import ar.sgt.resolver.utils.BinaryCodec;
+import ar.sgt.resolver.utils.ConcurrentCachedMap;
+import ar.sgt.resolver.utils.RegexpHelper;
+import ar.sgt.resolver.utils.RequestPath;
+import ar.sgt.resolver.utils.ResolverUtils;
+import ar.sgt.resolver.utils.UrlReverse;
+
+public class ResolverTest extends TestCase {
+
+	private ResolverConfig config;
+	
+	@Override
+	protected void setUp() throws Exception {
+		ConfigParser parser = new ConfigParser();
+		try {
+			this.config = parser.parse(this.getClass().getResourceAsStream("/urlresolver.xml"));
+		} catch (ParserConfigurationException e) {
+			e.printStackTrace();
+		} catch (SAXException e) {
+			e.printStackTrace();
+		} catch (IOException e) {
+			e.printStackTrace();
+		}
+	}
+
+	public void testConfigLoader() {
+		RuleMatch rule1 = config.findRule("aslugcode/detail/");
+		assertEquals("TestProcessor1", rule1.getRule().getProcessor());
+		assertEquals("aslugcode", rule1.getParams().get("slug"));
+		RuleMatch rule2 = config.findRule("detail/");
+		assertNull(rule2.getParams().get("slug"));
+		assertEquals("TestProcessor2", rule2.getRule().getProcessor());
+		assertEquals("page1.jsp", rule2.getRule().getRedirect());
+		Rule rule3 = config.findByName("rule1");
+		assertEquals("TestProcessor1", rule3.getProcessor());
+		Rule rule4 = config.findByName("rule4");
+		assertNull(rule4);
+		RuleMatch rule5 = config.findRule("detail/redirect/");
+		assertEquals(ForwardProcessor.class.getName(), rule5.getRule().getProcessor());
+		assertEquals(2, rule5.getRule().getArguments().size());
+		assertEquals("value2", rule5.getParams().get("arg2"));
+		RuleMatch rule6 = config.findRule("somepage.jsp?d=valor");
+		assertEquals("rule1", rule6.getRule().getRedirect());
+	}
+	
+	public void testMatchIsolation() {
+		RuleMatch first = config.findRule("first/detail/");
+		RuleMatch second = config.findRule("second/detail/");
+		assertSame(first.getRule(), second.getRule());
+		assertEquals("first", first.getParams().get("slug"));
+		assertEquals("second", second.getParams().get("slug"));
+		assertNull(config.findRule("nomatch"));
+	}
+	
+	public void testSegmentTree() {
+		String[][] declared = {
+			// regexp only, declared before the templates it overlaps
+			{"sale", "^/shop/($any.*)/sale/$"},
+			{"item", "^/shop/($slug[\\w]+)/($part[^/]+)/$"},
+			{"num", "^/shop/($id[\\d]+)/$"},
+			{"word", "^/shop/($slug[\\w]+)/$"},
+			{"about", "^/shop/about/$"},
+			{"empty", "^/shop//x$"},
+			{"file", "^/files/($name[^/]+)$"},
+			{"rest", "^/files/($rest.+)$"}
+		};
+		String[] paths = {"/shop/x/sale/", "/shop/ab/sale/", "/shop/ab/c d/", "/shop/12/", "/shop/ab/",
+				"/shop/about/", "/shop/a-b/", "/shop//x", "/shop//", "/shop/ab", "/shop/ab//", "/shop/",
+				"/files/a.txt", "/files/a.txt/", "/files/a/b", "/files/", "/", ""};
+		for (MatchEngine engine : MatchEngine.values()) {
+			RuleSet rules = new RuleSet();
+			rules.setEngine(engine);
+			for (String[] rule : declared) {
+				rules.addRule("P", rule[1], rule[0], null);
+			}
+			for (String path : paths) {
+				RuleMatch expected = null;
+				for (Rule rule : rules.rules.values()) {
+					rule.compile();
+					expected = rule.match(path);
+					if (expected != null) break;
+				}
+				RuleMatch match = rules.match(path);
+				String message = engine + " " + path;
+				if (expected == null) {
+					assertNull(message, match);
+				} else {
+					assertNotNull(message, match);
+					assertSame(message, expected.getRule(), match.getRule());
+					assertEquals(message, expected.getParams(), match.getParams());
+				}
+			}
+			assertEquals("sale", rules.match("/shop/ab/sale/").getRule().getName());
+			assertEquals("12", rules.match("/shop/12/").getParams().get("id"));
+			assertEquals("word", rules.match("/shop/about/").getRule().getName());
+			assertEquals("c d", rules.match("/shop/ab/c d/").getParams().get("part"));
+			assertEquals("empty", rules.match("/shop//x").getRule().getName());
+			assertEquals("a/b", rules.match("/files/a/b").getParams().get("rest"));
+			assertNull(rules.match("/shop/a-b/"));
+		}
+	}
+	
+	public void testExcludePath() {
+		ExcludePathMatcher exclude = ExcludePathMatcher.compile("/static/**, /admin, /img**, /a/b/c, /logo.png/small, *.png, *.min.js");
+		// path and everything under it
+		assertTrue(exclude.matches("/static"));
+		assertTrue(exclude.matches("/static/"));
+		assertTrue(exclude.matches("/static/css/site.css"));
+		assertTrue(exclude.matches("/admin/users"));
+		assertFalse(exclude.matches("/staticfile"));
+		assertFalse(exclude.matches("/stat"));
+		// prefix
+		assertTrue(exclude.matches("/img"));
+		assertTrue(exclude.matches("/imgs/logo.gif"));
+		assertFalse(exclude.matches("/im"));
+		// suffix, also for paths ending on a prefix node
+		assertTrue(exclude.matches("/logo.png"));
+		assertTrue(exclude.matches("/logo.png/small"));
+		assertTrue(exclude.matches("/js/app.min.js"));
+		assertTrue(exclude.matches("/a/b.png"));
+		assertTrue(exclude.matches("/a.png"));
+		assertFalse(exclude.matches("/js/app.js"));
+		assertFalse(exclude.matches("/a/b"));
+		// exact boundary
+		assertTrue(exclude.matches("/a/b/c"));
+		assertTrue(exclude.matches("/a/b/c/d"));
+		assertFalse(exclude.matches("/a/b/cd"));
+		assertFalse(exclude.matches("/a/b/"));
+		assertFalse(exclude.matches("/"));
+		assertFalse(exclude.matches(""));
+		try {
+			ExcludePathMatcher.compile("/static, /");
+			fail("root path excluded");
+		} catch (IllegalArgumentException e) {
+			// the filter would be disabled
+		}
+		try {
+			ExcludePathMatcher.compile("/**");
+			fail("root path excluded");
+		} catch (IllegalArgumentException e) {
+			// the filter would be disabled
+		}
+		// unsupported wildcards
+		for (String invalid : new String[] {"*", "**", "/img/*.png", "*.p*g", "/img/***", "/a*b**", "/a*/**"}) {
+			try {
+				ExcludePathMatcher.compile(invalid);
+				fail(invalid + " accepted");
+			} catch (IllegalArgumentException e) {
+				// only a leading * or a trailing ** are wildcards
+			}
+		}
+	}
+	
+	public void testCachedMap() {
+		// 2 segments, the first one takes the remainder
+		ConcurrentCachedMap<String, String> map = new ConcurrentCachedMap<String, String>(129, true);
+		for (int i = 0; i < 1000; i++) {
+			map.put("key" + i, "value" + i);
+		}
+		assertEquals(129, map.size());
+		map.clear();
+		assertEquals(0, map.size());
+		ConcurrentCachedMap<String, String> lru = new ConcurrentCachedMap<String, String>(3, true);
+		ConcurrentCachedMap<String, String> fifo = new ConcurrentCachedMap<String, String>(3, false);
+		for (ConcurrentCachedMap<String, String> cache : Arrays.asList(lru, fifo)) {
+			cache.put("a", "1");
+			cache.put("b", "2");
+			cache.put("c", "3");
+			assertEquals("1", cache.get("a"));
+			cache.put("d", "4");
+			assertEquals(3, cache.size());
+		}
+		assertNull(lru.get("b"));
+		assertEquals("1", lru.get("a"));
+		assertNull(fifo.get("a"));
+		assertEquals("2", fifo.get("b"));
+	}
+	
+	public void testFilterCache() throws Exception {
+		ServletContext context = mockContext(new HashMap<String, String>());
+		ConfigHolder holder = new ConfigHolder(config);
+		context.setAttribute(ContextLoader.RESOLVER_CONFIG_HOLDER, holder);
+		final Map<String, String> params = new HashMap<String, String>();
+		params.put("cache-size", "10");
+		ResolverFilter filter = new ResolverFilter();
+		filter.init(mockFilterConfig(context, params));
+		ConcurrentCachedMap<?, ?> cache = (ConcurrentCachedMap<?, ?>) context.getAttribute(ResolverFilter.RESOLVER_CACHE);
+		final int[] chained = new int[1];
+		FilterChain chain = new FilterChain() {
+			public void doFilter(ServletRequest request, ServletResponse response) {
+				chained[0]++;
+			}
+		};
+		// paths without a rule are cached too
+		filter.doFilter(mockRequest("somepage.jspx"), null, chain);
+		filter.doFilter(mockRequest("somepage.jspx"), null, chain);
+		assertEquals(2, chained[0]);
+		assertEquals(1, cache.size());
+		assertEquals(1, cache.getHits());
+		assertEquals(1, cache.getMisses());
+		// except the ones rejected without matching
+		filter.doFilter(mockRequest("/nomatch"), null, chain);
+		filter.doFilter(mockRequest("/css/site.css"), null, chain);
+		assertEquals(4, chained[0]);
+		assertEquals(1, cache.size());
+		assertEquals(1, cache.getMisses());
+		// a reload drops the paths resolved with the previous config
+		holder.set(new ConfigParser().parse(this.getClass().getResourceAsStream("/urlresolver.xml")));
+		filter.doFilter(mockRequest("somepage.jspx"), null, chain);
+		assertEquals(1, cache.size());
+		assertEquals(1, cache.getHits());
+		assertEquals(2, cache.getMisses());
+		filter.destroy();
+	}
+	
+	private static FilterConfig mockFilterConfig(final ServletContext context, final Map<String, String> params) {
+		return (FilterConfig) Proxy.newProxyInstance(ResolverTest.class.getClassLoader(), new Class<?>[] { FilterConfig.class }, new InvocationHandler() {
+			public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+				String name = method.getName();
+				if (name.equals("getServletContext")) return context;
+				if (name.equals("getInitParameter")) return params.get(args[0]);
+				return null;
+			}
+		});
+	}
+	
+	private static HttpServletRequest mockRequest(final String uri) {
+		return (HttpServletRequest) Proxy.newProxyInstance(ResolverTest.class.getClassLoader(), new Class<?>[] { HttpServletRequest.class }, new InvocationHandler() {
+			public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+				String name = method.getName();
+				if (name.equals("getRequestURI")) return uri;
+				if (name.equals("getContextPath")) return "";
+				if (name.equals("getMethod")) return "GET";
+				return null;
+			}
+		});
+	}
+	
+	public void testLiteralPrefix() {
+		assertEquals("/alias/", RegexpHelper.literalPrefix("^/alias/($key[\\w]+)/$"));
+		assertEquals("", RegexpHelper.literalPrefix("^($slug[-\\w]+)/detail/$"));
+		assertEquals("somepage", RegexpHelper.literalPrefix("^somepage.jsp\\?(.*)$"));
+		assertEquals("/page", RegexpHelper.literalPrefix("^/pages?/$"));
+		assertEquals("/a.b/", RegexpHelper.literalPrefix("^/a\\.b/$"));
+		assertEquals("", RegexpHelper.literalPrefix("^/a/$|^/b/$"));
+		// rules without prefix are still tried in declaration order
+		assertEquals("rule1", config.findRule("detail/detail/").getRule().getName());
+	}
+	
+	public void testFastReject() {
+		assertEquals("/detail/", RegexpHelper.literalSuffix("^($slug[-\\w]+)/detail/$"));
+		assertEquals("", RegexpHelper.literalSuffix("^somepage.jsp\\?(.*)$"));
+		assertEquals("/a", RegexpHelper.literalSuffix("^/b?/a$"));
+		assertEquals("/", RegexpHelper.literalSuffix("^/ab?/$"));
+		assertFalse(config.mayMatch("nomatch"));
+		assertFalse(config.mayMatch("css/site.css"));
+		assertTrue(config.mayMatch("aslugcode/detail/"));
+		assertTrue(config.mayMatch("somepage.jsp?d=valor"));
+	}
+	
+	public void testInlineFlags() {
+		assertEquals("", RegexpHelper.literalSuffix("(?i)^/foo/$"));
+		assertEquals("", RegexpHelper.literalSuffix("^/a/(?i:bar)$"));
+		assertEquals("/a", RegexpHelper.literalSuffix("^(?:b)?/a$"));
+		for (MatchEngine engine : MatchEngine.values()) {
+			RuleSet rules = new RuleSet();
+			rules.setEngine(engine);
+			rules.addRule("P", "(?i)^/foo/$", "foo", null);
+			rules.addRule("P", "^/a/(?i)bar$", "bar", null);
+			rules.addRule("P", "(?i)^/($n\\w+)\\.json$", "json", null);
+			assertTrue(engine.name(), rules.mayMatch("/FOO/"));
+			assertEquals(engine.name(), "foo", rules.match("/FOO/").getRule().getName());
+			assertEquals(engine.name(), "bar", rules.match("/a/BAR").getRule().getName());
+			assertNull(engine.name(), rules.match("/A/bar"));
+			assertEquals(engine.name(), "X", rules.match("/X.JSON").getParams().get("n"));
+		}
+	}
+	
+	public void testCombinedEngine() {
+		config.rules.setEngine(MatchEngine.COMBINED);
+		testConfigLoader();
+		testMatchIsolation();
+		assertEquals("rule1", config.findRule("detail/detail/").getRule().getName());
+	}
+	
+	public void testSpecializedEngine() {
+		config.rules.setEngine(MatchEngine.SPECIALIZED);
+		testConfigLoader();
+		testMatchIsolation();
+		RuleSet rules = new RuleSet();
+		rules.setEngine(MatchEngine.SPECIALIZED);
+		rules.addRule("P", "^item-($id\\d+)\\.html$", "item", null);
+		// the run could take the b, matched with its regexp
+		rules.addRule("P", "^a[a-c]*b$", "ab", null);
+		rules.addRule("P", "^($key[\\w]*)\\.json$", "json", null);
+		assertEquals("12", rules.match("item-12.html").getParams().get("id"));
+		assertNull(rules.match("item-.html"));
+		assertNull(rules.match("item-12.htm"));
+		assertEquals("ab", rules.match("acab").getRule().getName());
+		assertEquals("", rules.match(".json").getParams().get("key"));
+		assertNull(rules.match("a.b.json"));
+		assertEquals("a_b", rules.match("a_b.json").getParams().get("key"));
+	}
+
+	public void testLoadProcessors() throws Exception {
+		// TestProcessor1 and TestProcessor2 don't exist
+		assertEquals(2, config.loadProcessors(new DefaultProcessorFactory()));
+		assertNull(config.findByName("rule1").getProcessorProvider());
+		Rule forward = config.findRule("detail/redirect/").getRule();
+		assertEquals(ProcessorScope.SINGLETON, forward.getScope());
+		ProcessorProvider provider = forward.getProcessorProvider();
+		assertSame(provider.getProcessor(), provider.getProcessor());
+	}
+	
+	public void testRedirectTarget() {
+		// literal url
+		assertEquals("page1.jsp", config.findRule("detail/").getRule().getRedirectTarget().getUrl("/ctx"));
+		// permanent redirects keep the rule name
+		RedirectTarget permanent = config.findRule("somepage.jsp?d=valor").getRule().getRedirectTarget();
+		assertFalse(permanent.isContextRelative());
+		assertEquals("rule1", permanent.getUrl("/ctx"));
+		assertNull(config.findByName("rule1").getRedirectTarget());
+	}
+	
+	public void testReverseTemplate() throws Exception {
+		UrlReverse reverse = new UrlReverse(config);
+		Map<String, String> params = new HashMap<String, String>();
+		assertEquals("$slug/detail/", reverse.resolve("rule1", params));
+		params.put("slug", "a b");
+		assertEquals("a%20b/detail/", reverse.resolve("rule1", params));
+		params.put("page", "2");
+		assertEquals("a%20b/detail/?page=2", reverse.resolve("rule1", params));
+		params.remove("slug");
+		try {
+			reverse.resolve("rule1", params);
+			fail();
+		} catch (ReverseException e) {
+			assertEquals("Missing param slug", e.getMessage());
+		}
+		ReverseTemplate template = ReverseTemplate.compile("^/p/($id\\w+)/($id2\\w+)/$");
+		params.put("id", "1");
+		params.put("id2", "2");
+		params.remove("page");
+		assertEquals("/p/1/2/", template.reverse(params));
+		// a repeated name is a single param
+		template = ReverseTemplate.compile("^/p/($id\\w+)/($id\\w+)/$");
+		params.remove("id2");
+		params.put("page", "2");
+		assertEquals("/p/1/1/?page=2", template.reverse(params));
+	}
+	
+	public void testStreamingReverse() throws Exception {
+		UrlReverse reverse = new UrlReverse(config);
+		Map<String, String> params = new HashMap<String, String>();
+		StringBuilder out = new StringBuilder();
+		params.put("other", "1");
+		try {
+			reverse.resolve("rule1", params, "/ctx/", out);
+			fail();
+		} catch (ReverseException e) {
+			assertEquals(0, out.length());
+		}
+		params.put("slug", "\u00f1 &");
+		reverse.resolve("rule1", params, "/ctx/", out);
+		assertEquals("/ctx/%C3%B1%20%26/detail/?other=1", out.toString());
+	}
+	
+	public void testBatchReverse() throws Exception {
+		UrlReverse reverse = new UrlReverse(config);
+		Map<String, List<String>> columns = new HashMap<String, List<String>>();
+		columns.put("slug", Arrays.asList("a", "b c"));
+		assertEquals(Arrays.asList("a/detail/", "b%20c/detail/"), reverse.resolveAll("rule1", columns));
+		columns.put("page", Arrays.asList("1", "2"));
+		assertEquals("b%20c/detail/?page=2", reverse.resolveAll("rule1", columns).get(1));
+		// sequential lists are read once
+		columns.put("page", new LinkedList<String>(Arrays.asList("1", "2")));
+		assertEquals("a/detail/?page=1", reverse.resolveAll("rule1", columns).get(0));
+		List<Map<String, String>> rows = new ArrayList<Map<String, String>>();
+		rows.add(Collections.singletonMap("slug", "a"));
+		rows.add(Collections.singletonMap("slug", "b"));
+		assertEquals(Arrays.asList("a/detail/", "b/detail/"), reverse.resolveAll("rule1", rows));
+		StringBuilder out = new StringBuilder();
+		reverse.resolveAll("rule1", rows, "/ctx/", out, "\n");
+		assertEquals("/ctx/a/detail/\n/ctx/b/detail/", out.toString());
+	}
+	
+	public void testDecodeUrl() throws Exception {
+		String plain = "a-b+c";
+		assertSame(plain, ResolverUtils.decodeUrl(plain));
+		assertEquals("a b/+\u00f1", ResolverUtils.decodeUrl("a%20b%2f%2B%C3%B1"));
+		assertEquals("\ufffd", ResolverUtils.decodeUrl("%C3"));
+		String[] malformed = {"%", "a%2", "%zz", "%-1", "%+1"};
+		for (String value : malformed) {
+			try {
+				ResolverUtils.decodeUrl(value);
+				fail(value);
+			} catch (IllegalArgumentException e) {
+				// expected
+			}
+		}
+	}
+	
+	public void testEncodePathSegment() throws Exception {
+		String safe = "a-b_c.d~e";
+		assertSame(safe, ResolverUtils.encodePathSegment(safe));
+		assertEquals("a%20b%2Fc%3F%23%26%27+", ResolverUtils.encodePathSegment("a b/c?#&'+"));
+		assertEquals("%C3%B1%E6%97%A5%F0%9F%98%80", ResolverUtils.encodePathSegment("\u00f1\u65e5\ud83d\ude00"));
+		// path parameters are stripped by the container
+		assertEquals("a%3Bjsessionid=1", ResolverUtils.encodePathSegment("a;jsessionid=1"));
+		// decoding gives back the value
+		assertEquals("a b/c+", ResolverUtils.decodeUrl(ResolverUtils.encodePathSegment("a b/c+")));
+		assertEquals("a;b", ResolverUtils.decodeUrl(ResolverUtils.encodePathSegment("a;b")));
+	}
+	
+	public void testParamMap() {
+		Map<String, String> params = config.findRule("a-b/detail/").getParams();
+		assertEquals(1, params.size());
+		assertTrue(params.containsKey("slug"));
+		assertEquals("a-b", params.get("slug"));
+		assertEquals(Collections.singletonMap("slug", "a-b"), params);
+		try {
+			params.put("slug", "c");
+			fail();
+		} catch (UnsupportedOperationException e) {
+			// expected
+		}
+		Map<String, String> args = config.findRule("detail/redirect/").getParams();
+		Map<String, String> expected = new HashMap<String, String>();
+		expected.put("arg1", "value1");
+		expected.put("arg2", "value2");
+		assertEquals(expected, args);
+		// a repeated name is a single key with the last group
+		for (MatchEngine engine : MatchEngine.values()) {
+			RuleSet rules = new RuleSet();
+			rules.setEngine(engine);
+			rules.addRule("P", "^($a[a-z]+)-($a[0-9]+)/$", "twice", null).addArgument("a", "arg");
+			rules.addRule("P", "^(?:($b[a-z]+)|($b[0-9]+))\\.html$", "either", null);
+			Map<String, String> twice = rules.match("x-12/").getParams();
+			assertEquals(engine.name(), Collections.singletonMap("a", "12"), twice);
+			assertEquals(1, twice.entrySet().size());
+			assertEquals("12", rules.match("12.html").getParams().get("b"));
+			Map<String, String> either = rules.match("ab.html").getParams();
+			assertEquals(1, either.size());
+			assertNull(either.get("b"));
+		}
+	}
+	
+	public void testStaxParser() throws Exception {
+		ResolverConfig stax = new StaxConfigParser().parse(this.getClass().getResourceAsStream("/urlresolver.xml"));
+		assertEquals(config.toString(), stax.toString());
+		assertEquals(new ArrayList<String>(config.rules.rules.keySet()), new ArrayList<String>(stax.rules.rules.keySet()));
+		for (Rule rule : config.rules.rules.values()) {
+			Rule other = stax.findByName(rule.getName() != null ? rule.getName() : rule.getPattern());
+			assertEquals(rule.getName(), other.getName());
+			assertEquals(rule.getArguments(), other.getArguments());
+			assertEquals(rule.getScope(), other.getScope());
+		}
+		assertEquals("aslugcode", stax.findRule("aslugcode/detail/").getParams().get("slug"));
+	}
+	
+	public void testConfigSnapshot() throws Exception {
+		File file = File.createTempFile("urlresolver", ".snapshot");
+		try {
+			byte[] checksum = ConfigSnapshot.checksum("<config/>".getBytes("UTF-8"));
+			ConfigSnapshot.write(config, checksum, file);
+			ResolverConfig snapshot = ConfigSnapshot.read(file, checksum);
+			assertEquals(config.toString(), snapshot.toString());
+			assertEquals(config.rules.getEngine(), snapshot.rules.getEngine());
+			assertEquals(ProcessorScope.SINGLETON, snapshot.findRule("detail/redirect/").getRule().getScope());
+			assertEquals("value1", snapshot.findRule("detail/redirect/").getParams().get("arg1"));
+			assertEquals("page1.jsp", snapshot.findRule("detail/").getRule().getRedirectTarget().getUrl("/ctx"));
+			Map<String, String> params = Collections.singletonMap("slug", "a b");
+			assertEquals(new UrlReverse(config).resolve("rule1", params), new UrlReverse(snapshot).resolve("rule1", params));
+			// another xml
+			assertNull(ConfigSnapshot.read(file, ConfigSnapshot.checksum("<config></config>".getBytes("UTF-8"))));
+			// the file read can be replaced
+			ConfigSnapshot.write(config, checksum, file);
+			assertNotNull(ConfigSnapshot.read(file, checksum));
+			// written by another version
+			RandomAccessFile raf = new RandomAccessFile(file, "rw");
+			raf.seek(4);
+			int version = raf.readInt();
+			raf.seek(4);
+			raf.writeInt(version - 1);
+			raf.close();
+			assertNull(ConfigSnapshot.read(file, checksum));
+			ConfigSnapshot.write(config, checksum, file);
+			// corrupt data
+			raf = new RandomAccessFile(file, "rw");
+			raf.seek(raf.length() - 20);
+			raf.write(0xFF ^ raf.read());
+			raf.close();
+			assertNull(ConfigSnapshot.read(file, checksum));
+			// valid crc, missing values
+			writeSnapshot(file, checksum, null, null);
+			assertNull(ConfigSnapshot.read(file, checksum));
+			writeSnapshot(file, checksum, "REGEX", null);
+			assertNull(ConfigSnapshot.read(file, checksum));
+			writeSnapshot(file, checksum, "REGEX", "SINGLETON");
+			// the invalid pattern is reported by the compile executor
+			ExecutorService executor = Executors.newSingleThreadExecutor();
+			try {
+				assertNull(ConfigSnapshot.read(file, checksum, executor));
+			} finally {
+				executor.shutdown();
+			}
+		} finally {
+			file.delete();
+		}
+	}
+	
+	/**
+	 * Writes the header of a real snapshot and a rule with the given engine
+	 * and scope, followed by an invalid pattern.
+	 */
+	private static void writeSnapshot(File file, byte[] checksum, String engine, String scope) throws IOException {
+		byte[] header = new byte[8];
+		RandomAccessFile raf = new RandomAccessFile(file, "r");
+		raf.readFully(header);
+		raf.close();
+		ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+		DataOutputStream out = new DataOutputStream(bytes);
+		out.write(header);
+		out.writeInt(checksum.length);
+		out.write(checksum);
+		BinaryCodec.writeString(out, engine);
+		out.writeInt(1);
+		BinaryCodec.writeString(out, null);
+		BinaryCodec.writeString(out, "P");
+		BinaryCodec.writeString(out, "^a/($[/$");
+		BinaryCodec.writeString(out, null);
+		BinaryCodec.writeString(out, scope);
+		out.writeInt(0);
+		BinaryCodec.writeString(out, "a/");
+		BinaryCodec.writeString(out, "");
+		out.writeByte(0);
+		// reverse template: no names, a single chunk
+		out.writeInt(0);
+		out.writeInt(1);
+		BinaryCodec.writeString(out, "a/");
+		BinaryCodec.writeString(out, "a/");
+		CRC32 crc = new CRC32();
+		crc.update(bytes.toByteArray());
+		out.writeLong(crc.getValue());
+		FileOutputStream fos = new FileOutputStream(file);
+		bytes.writeTo(fos);
+		fos.close();
+	}
+	
+	public void testConfigReload() throws Exception {
+		File file = File.createTempFile("urlresolver", ".xml");
+		try {
+			writeConfig(file, "^a/$");
+			Map<String, String> params = new HashMap<String, String>();
+			params.put(ContextLoader.CONFIG_LOCATION_PARAM, file.getPath());
+			ServletContext context = mockContext(params);
+			ContextLoader loader = new ContextLoader();
+			loader.initWebContext(context);
+			ResolverConfig first = ContextLoader.getConfigHolder(context).get();
+			UrlReverse reverse = new UrlReverse(context);
+			assertEquals("a/", reverse.resolve("page"));
+			writeConfig(file, "^b/$");
+			loader.reload(context, file.getPath());
+			assertEquals("b/", reverse.resolve("page"));
+			assertSame(ContextLoader.getConfigHolder(context).get(), context.getAttribute(ContextLoader.RESOLVER_CONFIG));
+			// the previous config is left as it was
+			assertNotNull(first.findRule("a/"));
+			assertNull(first.findRule("b/"));
+			// a broken file keeps the live config
+			writeConfig(file, "^c/$\"><");
+			loader.reload(context, file.getPath());
+			assertEquals("b/", reverse.resolve("page"));
+			loader.destroyWebContext(context);
+		} finally {
+			file.delete();
+		}
+	}
+
+	private static void writeConfig(File file, String pattern) throws IOException {
+		Writer out = new OutputStreamWriter(new FileOutputStream(file), "UTF-8");
+		try {
+			out.write("<config><forward-processor redirect=\"page.jsp\"><rule name=\"page\" pattern=\"" + pattern + "\"/></forward-processor></config>");
+		} finally {
+			out.close();
+		}
+	}
+
+	private static ServletContext mockContext(final Map<String, String> params) {
+		final Map<String, Object> attributes = new HashMap<String, Object>();
+		return (ServletContext) Proxy.newProxyInstance(ResolverTest.class.getClassLoader(), new Class<?>[] { ServletContext.class }, new InvocationHandler() {
+			public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+				String name = method.getName();
+				if (name.equals("getInitParameter")) return params.get(args[0]);
+				if (name.equals("getAttribute")) return attributes.get(args[0]);
+				if (name.equals("setAttribute")) return attributes.put((String) args[0], args[1]);
+				if (name.equals("removeAttribute")) return attributes.remove(args[0]);
+				if (name.equals("getResourceAsStream")) return new FileInputStream((String) args[0]);
+				return null;
+			}
+		});
+	}
+
+	public void testCompileRules() throws Exception {
+		ExecutorService executor = Executors.newFixedThreadPool(4);
+		try {
+			ResolverConfig parallel = new ConfigParser(executor).parse(this.getClass().getResourceAsStream("/urlresolver.xml"));
+			assertEquals(config.toString(), parallel.toString());
+			assertEquals("aslugcode", parallel.findRule("aslugcode/detail/").getParams().get("slug"));
+			String xml = "<config><processor class=\"TestProcessor1\">"
+					+ "<rule name=\"a\" pattern=\"^a(/$\"/><rule name=\"b\" pattern=\"^b/$\"/><rule name=\"c\" pattern=\"^c[/$\"/>"
+					+ "</processor></config>";
+			try {
+				new ConfigParser(executor).parse(new ByteArrayInputStream(xml.getBytes("UTF-8")));
+				fail("Invalid patterns");
+			} catch (ConfigException e) {
+				assertEquals(2, e.getErrors().size());
+				assertTrue(e.getErrors().get(0).contains("rule a"));
+				assertTrue(e.getErrors().get(1).contains("rule c"));
+			}
+			try {
+				new StaxConfigParser().parse(new ByteArrayInputStream(xml.getBytes("UTF-8")));
+				fail("Invalid patterns");
+			} catch (ConfigException e) {
+				assertEquals(2, e.getErrors().size());
+			}
+		} finally {
+			executor.shutdown();
+		}
+		File file = File.createTempFile("urlresolver", ".xml");
+		try {
+			writeConfig(file, "^a/$");
+			Map<String, String> params = new HashMap<String, String>();
+			params.put(ContextLoader.CONFIG_LOCATION_PARAM, file.getPath());
+			for (String threads : new String[] {"2", "1"}) {
+				params.put(ContextLoader.COMPILE_THREADS_PARAM, threads);
+				ServletContext context = mockContext(params);
+				new ContextLoader().initWebContext(context);
+				assertNotNull(threads, ContextLoader.getConfigHolder(context).get());
+			}
+			// an invalid value fails the config load
+			for (String threads : new String[] {"0", "-1", "two"}) {
+				params.put(ContextLoader.COMPILE_THREADS_PARAM, threads);
+				ServletContext context = mockContext(params);
+				new ContextLoader().initWebContext(context);
+				assertNull(threads, ContextLoader.getConfigHolder(context).get());
+			}
+		} finally {
+			file.delete();
+		}
+	}
+
+	public void testRouteTableGenerator() throws Exception {
+		StringBuilder source = new StringBuilder();
+		RouteTableGenerator.generate(config, "test.Routes", source);
+		String code = source.toString();
+		assertTrue(code.startsWith("/* Generated"));
+		assertTrue(code.contains("package test;"));
+		assertTrue(code.contains("public final class Routes extends RouteTable {"));
+		assertTrue(code.contains("rule = Rule.precompiled(\"rule1\", \"TestProcessor1\", \"^($slug[-\\\\w]+)/detail/$\", null, \"\", \"/detail/\","));
+		assertTrue(code.contains("ReverseTemplate.of(new String[] {\"slug\"}, new String[] {\"\", \"/detail/\"}, new int[] {0}, \"$slug/detail/\")"));
+		assertTrue(code.contains("new ProcessorProvider(ar.sgt.resolver.processor.ForwardProcessor.class, ProcessorScope.SINGLETON, factory)"));
+		assertTrue(code.contains("rule.setRedirectTarget(RedirectTarget.literal(\"page1.jsp\"));"));
+		assertTrue(code.contains("rule.addArgument(\"detail\", \"d\");"));
+		// a rule template built from its parts
+		ReverseTemplate template = config.findByName("rule1").getReverseTemplate();
+		ReverseTemplate copy = ReverseTemplate.of(template.getGroupNames(), template.getChunks(), template.getSlots(), template.getPlainUrl());
+		assertEquals("a-b/detail/", copy.reverse(Collections.singletonMap("slug", "a-b")));
+	}
+
+	public void testRequestPath() {
+		RequestPath path = RequestPath.of("/CTX/aslugcode/detail", "/ctx/").withTrailingSlash();
+		assertEquals("aslugcode/detail/", path.toString());
+		assertEquals('/', path.charAt(path.length() - 1));
+		assertEquals("detail/", path.subSequence(10, path.length()).toString());
+		assertEquals("aslugcode", config.findRule(path).getParams().get("slug"));
+		assertSame(path, path.withTrailingSlash());
+		assertEquals("/a/", RequestPath.of("//a/", null).withTrailingSlash().toString());
+	}
+	
+	
+}